@@ -28,6 +28,26 @@ dependencies {
 
 tasks.test {
     useJUnitPlatform()
+    // tests make javac symbols and trees, their packages are not exported by jdk.compiler
+    jvmArgs("--add-exports=jdk.compiler/com.sun.tools.javac.tree=ALL-UNNAMED")
+    jvmArgs("--add-exports=jdk.compiler/com.sun.tools.javac.util=ALL-UNNAMED")
+    jvmArgs("--add-exports=jdk.compiler/com.sun.tools.javac.code=ALL-UNNAMED")
+    // ExpressionParserTest runs a javac task and initializes the utils with it
+    jvmArgs("--add-exports=jdk.compiler/com.sun.tools.javac.processing=ALL-UNNAMED")
+    jvmArgs("--add-exports=jdk.compiler/com.sun.tools.javac.model=ALL-UNNAMED")
+    jvmArgs("--add-exports=jdk.compiler/com.sun.tools.javac.comp=ALL-UNNAMED")
+    jvmArgs("--add-exports=jdk.compiler/com.sun.tools.javac.parser=ALL-UNNAMED")
+    jvmArgs("--add-exports=jdk.compiler/com.sun.tools.javac.api=ALL-UNNAMED")
+}
+
+// benchmarks are main classes in the test sources, the test task doesn't run them
+tasks.register<JavaExec>("benchmark") {
+    group = "verification"
+    description = "Runs the InvocableInfo hashing benchmark"
+    classpath = sourceSets["test"].runtimeClasspath
+    mainClass.set("org.projectparams.annotationprocessing.processors.defaultvalue.InvocableInfoHashBenchmark")
+    jvmArgs("--add-exports=jdk.compiler/com.sun.tools.javac.code=ALL-UNNAMED")
+    jvmArgs("--add-exports=jdk.compiler/com.sun.tools.javac.util=ALL-UNNAMED")
 }
 
 tasks.withType<JavaCompile> {
@@ -37,4 +57,6 @@ tasks.withType<JavaCompile> {
     options.compilerArgs.add("--add-exports=jdk.compiler/com.sun.tools.javac.code=ALL-UNNAMED")
     options.compilerArgs.add("--add-exports=jdk.compiler/com.sun.tools.javac.model=ALL-UNNAMED")
     options.compilerArgs.add("--add-exports=jdk.compiler/com.sun.tools.javac.comp=ALL-UNNAMED")
+    options.compilerArgs.add("--add-exports=jdk.compiler/com.sun.tools.javac.parser=ALL-UNNAMED")
+    options.compilerArgs.add("--add-exports=jdk.compiler/com.sun.tools.javac.api=ALL-UNNAMED")
 }
\ No newline at end of file
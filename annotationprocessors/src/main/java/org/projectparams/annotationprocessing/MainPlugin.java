@@ -0,0 +1,73 @@
+package org.projectparams.annotationprocessing;
+
+import com.google.auto.service.AutoService;
+import com.sun.source.util.JavacTask;
+import com.sun.source.util.Plugin;
+import com.sun.source.util.TaskEvent;
+import com.sun.source.util.TaskListener;
+import com.sun.source.util.Trees;
+import com.sun.tools.javac.api.BasicJavacTask;
+import com.sun.tools.javac.processing.JavacProcessingEnvironment;
+import com.sun.tools.javac.tree.TreeMaker;
+import com.sun.tools.javac.util.Log;
+import org.projectparams.annotationprocessing.processors.managers.StreamingProcessorsManager;
+import org.projectparams.annotationprocessing.utils.ProcessingContext;
+import org.projectparams.annotationprocessing.utils.ProcessingUtils;
+import org.projectparams.annotationprocessing.utils.ProcessorOptions;
+
+import javax.tools.Diagnostic;
+import java.util.Arrays;
+
+/**
+ * Alternative entry point to {@link MainProcessor}, enabled with {@code -Xplugin:ProjectParams}.
+ * Compilation units are processed one by one as javac analyzes them instead of in a single processing round,
+ * so annotation processing should be disabled with {@code -proc:none} to not process them twice
+ */
+@AutoService(Plugin.class)
+public class MainPlugin implements Plugin {
+
+    @Override
+    public String getName() {
+        return "ProjectParams";
+    }
+
+    @Override
+    public void init(JavacTask task, String... args) {
+        try {
+            // javac internals are only accessible after their packages are opened, so this goes first
+            ProcessingUtils.addOpensInModule();
+            var context = ((BasicJavacTask) task).getContext();
+            var javacProcessingEnv = JavacProcessingEnvironment.instance(context);
+            var trees = Trees.instance(javacProcessingEnv);
+            var treeMaker = TreeMaker.instance(context);
+            var options = ProcessorOptions.from(javacProcessingEnv.getOptions());
+            var processingContext = ProcessingContext.instance(context);
+            ProcessingUtils.initUtils(processingContext, javacProcessingEnv, javacProcessingEnv, trees, treeMaker, options);
+            task.addTaskListener(new StreamingProcessorsManager(processingContext, trees, treeMaker,
+                    javacProcessingEnv.getElementUtils(), javacProcessingEnv.getMessager(),
+                    javacProcessingEnv.getFiler(), Log.instance(context), options));
+        } catch (Throwable t) {
+            reportError(task, t.getMessage() + "\n" + Arrays.toString(t.getStackTrace()).replaceAll(",", "\n"));
+        }
+    }
+
+    /**
+     * Reports the error on the first parsed compilation unit, only public API is used here
+     * because javac internals may be the very thing that failed
+     */
+    private static void reportError(JavacTask task, String message) {
+        var trees = Trees.instance(task);
+        task.addTaskListener(new TaskListener() {
+            private boolean reported = false;
+
+            @Override
+            public void finished(TaskEvent event) {
+                if (!reported && event.getKind() == TaskEvent.Kind.PARSE) {
+                    reported = true;
+                    trees.printMessage(Diagnostic.Kind.ERROR, message,
+                            event.getCompilationUnit(), event.getCompilationUnit());
+                }
+            }
+        });
+    }
+}
@@ -2,22 +2,20 @@ package org.projectparams.annotationprocessing;
 
 import com.google.auto.service.AutoService;
 import com.sun.source.util.Trees;
-import com.sun.tools.javac.code.Symtab;
-import com.sun.tools.javac.comp.Attr;
-import com.sun.tools.javac.comp.Enter;
-import com.sun.tools.javac.comp.MemberEnter;
 import com.sun.tools.javac.processing.JavacProcessingEnvironment;
 import com.sun.tools.javac.tree.TreeMaker;
-import com.sun.tools.javac.util.Names;
-import org.projectparams.annotationprocessing.astcommons.PathUtils;
 import org.projectparams.annotationprocessing.astcommons.TypeUtils;
-import org.projectparams.annotationprocessing.astcommons.parsing.expressions.ExpressionFactory;
-import org.projectparams.annotationprocessing.astcommons.parsing.utils.ExpressionMaker;
-import org.projectparams.annotationprocessing.processors.defaultvalue.DefaultValueInjector;
+import org.projectparams.annotationprocessing.astcommons.context.CUContext;
+import org.projectparams.annotationprocessing.astcommons.context.ClassContext;
+import org.projectparams.annotationprocessing.astcommons.parsing.expressions.ExpressionTemplates;
+import org.projectparams.annotationprocessing.events.RoundEvent;
 import org.projectparams.annotationprocessing.processors.managers.DefaultProcessorsManager;
 import org.projectparams.annotationprocessing.processors.managers.ProcessorsManager;
 import org.projectparams.annotationprocessing.utils.ElementUtils;
+import org.projectparams.annotationprocessing.utils.ProcessingContext;
+import org.projectparams.annotationprocessing.utils.ProcessingReport;
 import org.projectparams.annotationprocessing.utils.ProcessingUtils;
+import org.projectparams.annotationprocessing.utils.ProcessorOptions;
 import org.projectparams.annotationprocessing.utils.ReflectionUtils;
 
 import javax.annotation.processing.*;
@@ -28,6 +26,7 @@ import javax.lang.model.element.TypeElement;
 import javax.tools.Diagnostic;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URL;
 import java.util.Arrays;
 import java.util.Enumeration;
@@ -37,6 +36,8 @@ import java.util.Set;
 // TODO: i guess this will need a migration from com.sun.tools.javac to jdk.compiler when works
 @SupportedAnnotationTypes("*")
 @SupportedSourceVersion(SourceVersion.RELEASE_21)
+@SupportedOptions({ProcessorOptions.PARALLELISM, ProcessorOptions.REPORT, ProcessorOptions.LOG_LEVEL,
+        ProcessorOptions.PARSER})
 @AutoService(Processor.class)
 public class MainProcessor extends AbstractProcessor {
     private JavacProcessingEnvironment javacProcessingEnv;
@@ -46,6 +47,10 @@ public class MainProcessor extends AbstractProcessor {
     // Initialized in first round of processing
     private Element rootPackage;
     private TreeMaker treeMaker;
+    private ProcessorOptions options;
+    // state of the utils, bound to the javac thread while a round is processed
+    private ProcessingContext processingContext;
+    private int round = 0;
 
     @Override
     public synchronized void init(ProcessingEnvironment processingEnv) {
@@ -54,16 +59,9 @@ public class MainProcessor extends AbstractProcessor {
             this.javacProcessingEnv = ProcessingUtils.getJavacProcessingEnvironment(processingEnv);
             this.trees = Trees.instance(javacProcessingEnv);
             this.treeMaker = TreeMaker.instance(javacProcessingEnv.getContext());
-            TypeUtils.init(trees, javacProcessingEnv.getTypeUtils(),
-                    processingEnv.getElementUtils(),
-                    Symtab.instance(javacProcessingEnv.getContext()),
-                    Attr.instance(javacProcessingEnv.getContext()),
-                    Enter.instance(javacProcessingEnv.getContext()),
-                    MemberEnter.instance(javacProcessingEnv.getContext()));
-            ExpressionMaker.init(treeMaker, Names.instance(javacProcessingEnv.getContext()));
-            DefaultValueInjector.messager = processingEnv.getMessager();
-            PathUtils.init(trees);
-            ExpressionFactory.messager = processingEnv.getMessager();
+            this.options = ProcessorOptions.from(processingEnv.getOptions());
+            this.processingContext = ProcessingContext.instance(javacProcessingEnv.getContext());
+            ProcessingUtils.initUtils(processingContext, processingEnv, javacProcessingEnv, trees, treeMaker, options);
         } catch (Throwable t) {
             processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
                     t.getMessage() + "\n" + Arrays.toString(t.getStackTrace()).replaceAll(",", "\n"));
@@ -73,15 +71,7 @@ public class MainProcessor extends AbstractProcessor {
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
         try {
-            if (roundEnv.processingOver()) return false;
-            if (rootPackage == null) {
-                rootPackage = ProcessingUtils.getRootPackage(roundEnv);
-                ElementUtils.init(processingEnv.getElementUtils(), (PackageElement) rootPackage, trees);
-                this.processorsManager =
-                        new DefaultProcessorsManager(trees, treeMaker,
-                                (PackageElement) rootPackage, processingEnv.getMessager());
-            }
-            processorsManager.process(roundEnv);
+            processingContext.run(() -> processRound(roundEnv));
         } catch (Throwable t) {
             processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
                     t.getMessage() + "\n" + Arrays.toString(t.getStackTrace()).replaceAll(",", "\n"));
@@ -89,6 +79,36 @@ public class MainProcessor extends AbstractProcessor {
         return false;
     }
 
+    private void processRound(RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            try {
+                ProcessingReport.write(processingEnv.getFiler());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return;
+        }
+        if (rootPackage == null) {
+            rootPackage = ProcessingUtils.getRootPackage(roundEnv);
+            ElementUtils.init(processingContext, processingEnv.getElementUtils(), (PackageElement) rootPackage, trees);
+            this.processorsManager =
+                    new DefaultProcessorsManager(trees, treeMaker,
+                            (PackageElement) rootPackage, processingEnv.getMessager(), options);
+        }
+        ElementUtils.clearClassHierarchies();
+        TypeUtils.clearAssignabilityCache();
+        TypeUtils.clearOwnerSymbols();
+        ClassContext.clearCache();
+        CUContext.clearCache();
+        ExpressionTemplates.clearCache();
+        var event = new RoundEvent();
+        event.begin();
+        processorsManager.process(roundEnv);
+        event.round = round++;
+        event.rootElements = roundEnv.getRootElements().size();
+        event.commit();
+    }
+
 
     /**
      * Prevents the closing of the ClassLoader used by the processor.
@@ -0,0 +1,124 @@
+package org.projectparams.annotationprocessing.astcommons;
+
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Name;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Subtype graph of a set of classes, built once from their direct supertypes.
+ * <p>
+ * Supertypes outside the set are part of the graph too,
+ * so a class is a descendant of its indirect supertypes even if the types in between are not in the set.
+ * Descendants are computed on the first request and cached
+ */
+public class ClassHierarchy {
+    private final List<TypeElement> classes;
+    private final Map<TypeElement, List<TypeElement>> directChildren = new HashMap<>();
+    private final Map<TypeElement, List<TypeElement>> descendants = new HashMap<>();
+    private final Map<TypeElement, Map<Name, List<ExecutableElement>>> declaredMethods = new HashMap<>();
+
+    private ClassHierarchy(List<TypeElement> classes) {
+        this.classes = classes;
+    }
+
+    public static ClassHierarchy of(List<TypeElement> classes) {
+        var hierarchy = new ClassHierarchy(classes);
+        var visited = new HashSet<TypeElement>();
+        var toVisit = new ArrayDeque<>(classes);
+        while (!toVisit.isEmpty()) {
+            var clazz = toVisit.poll();
+            if (!visited.add(clazz)) {
+                continue;
+            }
+            for (var supertype : getDirectSupertypes(clazz)) {
+                hierarchy.directChildren.computeIfAbsent(supertype, type -> new ArrayList<>()).add(clazz);
+                toVisit.add(supertype);
+            }
+        }
+        return hierarchy;
+    }
+
+    private static List<TypeElement> getDirectSupertypes(TypeElement clazz) {
+        var supertypes = new ArrayList<TypeElement>();
+        addTypeElement(supertypes, clazz.getSuperclass());
+        clazz.getInterfaces().forEach(superinterface -> addTypeElement(supertypes, superinterface));
+        return supertypes;
+    }
+
+    private static void addTypeElement(List<TypeElement> supertypes, TypeMirror supertype) {
+        if (supertype instanceof DeclaredType declaredType
+                && declaredType.asElement() instanceof TypeElement typeElement) {
+            supertypes.add(typeElement);
+        }
+    }
+
+    /**
+     * @return classes and interfaces directly extending or implementing the given type, including ones not in the set
+     */
+    public List<TypeElement> getDirectChildren(TypeElement type) {
+        return directChildren.getOrDefault(type, List.of());
+    }
+
+    /**
+     * @return classes of the set that are proper subtypes of the given type, in the order of the set
+     */
+    public List<TypeElement> getDescendants(TypeElement type) {
+        return descendants.computeIfAbsent(type, this::computeDescendants);
+    }
+
+    private List<TypeElement> computeDescendants(TypeElement type) {
+        var reachable = new LinkedHashSet<TypeElement>();
+        var toVisit = new ArrayDeque<>(getDirectChildren(type));
+        while (!toVisit.isEmpty()) {
+            var child = toVisit.poll();
+            if (reachable.add(child)) {
+                toVisit.addAll(getDirectChildren(child));
+            }
+        }
+        return classes.stream()
+                .filter(reachable::contains)
+                .filter(clazz -> !clazz.equals(type))
+                .toList();
+    }
+
+    /**
+     * @return methods declared in the class with the given name, the methods of a class are indexed on first request
+     */
+    public List<ExecutableElement> getDeclaredMethods(TypeElement clazz, Name name) {
+        return declaredMethods.computeIfAbsent(clazz, ClassHierarchy::indexMethodsByName)
+                .getOrDefault(name, List.of());
+    }
+
+    private static Map<Name, List<ExecutableElement>> indexMethodsByName(TypeElement clazz) {
+        var methodsByName = new HashMap<Name, List<ExecutableElement>>();
+        for (var member : clazz.getEnclosedElements()) {
+            if (member.getKind() == ElementKind.METHOD) {
+                methodsByName.computeIfAbsent(member.getSimpleName(), name -> new ArrayList<>())
+                        .add((ExecutableElement) member);
+            }
+        }
+        return methodsByName;
+    }
+
+    /**
+     * @return descendants of the type that are neither in the given set nor descendants of a type in it
+     */
+    public List<TypeElement> getDescendantsExcluding(TypeElement type, Set<TypeElement> excluded) {
+        var excludedDescendants = new HashSet<>(excluded);
+        excluded.forEach(excludedType -> excludedDescendants.addAll(getDescendants(excludedType)));
+        return getDescendants(type).stream()
+                .filter(descendant -> !excludedDescendants.contains(descendant))
+                .toList();
+    }
+}
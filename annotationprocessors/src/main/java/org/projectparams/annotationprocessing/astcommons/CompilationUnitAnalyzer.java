@@ -0,0 +1,41 @@
+package org.projectparams.annotationprocessing.astcommons;
+
+import com.sun.source.tree.CompilationUnitTree;
+import org.projectparams.annotationprocessing.utils.ProcessingContext;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * Runs read-only analyses of compilation units, in parallel if more than one thread is configured.
+ * <p>
+ * Analyses may only read the trees, javac symbols and types are not thread-safe and must not be completed here,
+ * so only scans of the trees run here, attribution and rewriting of the found call sites stay on the javac thread.
+ * Results are always returned in the order of the compilation units, so they don't depend on the parallelism
+ */
+public class CompilationUnitAnalyzer implements AutoCloseable {
+    private final ForkJoinPool pool;
+
+    public CompilationUnitAnalyzer(int parallelism) {
+        this.pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+    }
+
+    public <T> List<T> analyze(List<CompilationUnitTree> compilationUnits, Function<CompilationUnitTree, T> analysis) {
+        if (pool == null) {
+            return compilationUnits.stream().map(analysis).toList();
+        }
+        // analysis threads use the utils of the compilation that started them
+        var processingContext = ProcessingContext.current();
+        return pool.submit(() -> compilationUnits.parallelStream()
+                .map(unit -> processingContext.call(() -> analysis.apply(unit)))
+                .toList()).join();
+    }
+
+    @Override
+    public void close() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package org.projectparams.annotationprocessing.astcommons;
+
+import com.sun.source.tree.CompilationUnitTree;
+import org.projectparams.annotationprocessing.astcommons.visitors.CompilationUnitSummaryVisitor;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Simple names of everything invoked (including member references)
+ * and every type constructed in a compilation unit, used to skip units that can't contain matching call sites
+ */
+public record CompilationUnitSummary(Set<String> invokedNames, Set<String> constructedTypeNames) {
+
+    public static CompilationUnitSummary of(CompilationUnitTree compilationUnit) {
+        var summary = new CompilationUnitSummary(new HashSet<>(), new HashSet<>());
+        new CompilationUnitSummaryVisitor().scan(compilationUnit, summary);
+        return summary;
+    }
+
+    public boolean mentionsAny(Set<String> invokedNames, Set<String> constructedTypeNames) {
+        return !Collections.disjoint(this.invokedNames, invokedNames)
+                || !Collections.disjoint(this.constructedTypeNames, constructedTypeNames);
+    }
+}
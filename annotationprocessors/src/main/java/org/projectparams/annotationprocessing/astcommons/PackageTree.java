@@ -1,5 +1,8 @@
 package org.projectparams.annotationprocessing.astcommons;
 
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.util.TreePath;
 import com.sun.source.util.TreePathScanner;
 import com.sun.source.util.Trees;
 import org.projectparams.annotationprocessing.utils.ElementUtils;
@@ -7,13 +10,18 @@ import org.projectparams.annotationprocessing.utils.ElementUtils;
 import javax.lang.model.element.PackageElement;
 import javax.lang.model.element.TypeElement;
 import java.util.List;
+import java.util.function.Predicate;
 
 public class PackageTree {
     private final List<TypeElement> classes;
     private final Trees trees;
 
     public PackageTree(PackageElement packageDecl, Trees trees) {
-        classes = ElementUtils.getAllTopLevelClasses(packageDecl);
+        this(ElementUtils.getAllTopLevelClasses(packageDecl), trees);
+    }
+
+    private PackageTree(List<TypeElement> classes, Trees trees) {
+        this.classes = classes;
         this.trees = trees;
     }
 
@@ -21,7 +29,31 @@ public class PackageTree {
         return new PackageTree(ElementUtils.getRootPackage(), trees);
     }
 
+    /**
+     * @return tree containing only the top level classes of the compilation unit
+     */
+    public static PackageTree ofCompilationUnit(CompilationUnitTree compilationUnit, Trees trees) {
+        var compilationUnitPath = new TreePath(compilationUnit);
+        return new PackageTree(compilationUnit.getTypeDecls().stream()
+                .filter(ClassTree.class::isInstance)
+                .map(classDecl -> (TypeElement) trees.getElement(new TreePath(compilationUnitPath, classDecl)))
+                .toList(), trees);
+    }
+
     public <R, P> void accept(TreePathScanner<R, P> scanner, P arg) {
         classes.forEach(clazz -> scanner.scan(trees.getPath(clazz), arg));
     }
+
+    public List<CompilationUnitTree> getCompilationUnits() {
+        return classes.stream().map(clazz -> trees.getPath(clazz).getCompilationUnit()).distinct().toList();
+    }
+
+    /**
+     * @return view of this tree containing only classes from matching compilation units
+     */
+    public PackageTree filter(Predicate<CompilationUnitTree> compilationUnitPredicate) {
+        return new PackageTree(classes.stream()
+                .filter(clazz -> compilationUnitPredicate.test(trees.getPath(clazz).getCompilationUnit()))
+                .toList(), trees);
+    }
 }
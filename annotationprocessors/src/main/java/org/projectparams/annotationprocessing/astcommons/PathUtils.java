@@ -4,14 +4,15 @@ import com.sun.source.tree.ClassTree;
 import com.sun.source.tree.MethodTree;
 import com.sun.source.util.TreePath;
 import com.sun.source.util.Trees;
+import org.projectparams.annotationprocessing.utils.ProcessingContext;
 
 import javax.lang.model.element.Element;
 
 public class PathUtils {
-    private static Trees trees;
+    private static final ProcessingContext.Key<Trees> treesKey = new ProcessingContext.Key<>();
 
-    public static void init(Trees trees) {
-        PathUtils.trees = trees;
+    public static void init(ProcessingContext processingContext, Trees trees) {
+        processingContext.put(treesKey, trees);
     }
 
     public static TreePath getEnclosingClassPath(TreePath path) {
@@ -37,6 +38,6 @@ public class PathUtils {
     }
 
     public static TreePath getElementPath(Element method) {
-        return trees.getPath(method);
+        return ProcessingContext.current().get(treesKey).getPath(method);
     }
 }
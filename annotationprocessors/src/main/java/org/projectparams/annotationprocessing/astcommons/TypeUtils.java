@@ -3,6 +3,8 @@ package org.projectparams.annotationprocessing.astcommons;
 import com.sun.source.tree.*;
 import com.sun.source.util.TreePath;
 import com.sun.source.util.Trees;
+import com.sun.tools.javac.code.Flags;
+import com.sun.tools.javac.code.Symbol;
 import com.sun.tools.javac.code.Symtab;
 import com.sun.tools.javac.code.Type;
 import com.sun.tools.javac.code.TypeTag;
@@ -12,11 +14,15 @@ import com.sun.tools.javac.comp.MemberEnter;
 import com.sun.tools.javac.model.JavacTypes;
 import com.sun.tools.javac.tree.JCTree;
 import org.projectparams.annotationprocessing.astcommons.context.CUContext;
+import org.projectparams.annotationprocessing.utils.ProcessingContext;
+import org.projectparams.annotationprocessing.utils.ProcessingReport;
 
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.util.Elements;
+import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Utility class for working with types
@@ -24,46 +30,64 @@ import java.util.Map;
  * !!! THIS CLASS IS THE ONLY SOURCE OF TRUTH FOR TYPES !!!
  */
 public class TypeUtils {
-    // for some reason, types of NewClassTree nodes are not resolved during annotation processing
-    // and any attempt to resolve them manually results in an error, while attribution does not affect types at all
-    private static final Map<NewClassTree, String> effectiveConstructorOwnerTypeNames = new IdentityHashMap<>();
-    private static Trees trees;
-    private static JavacTypes types;
-    private static Elements elements;
-    private static Symtab symtab;
-    private static Attr attr;
-    private static Enter enter;
-    private static MemberEnter memberEnter;
+    private static final ProcessingContext.Key<State> stateKey = new ProcessingContext.Key<>();
+
+    private static final class State {
+        // for some reason, types of NewClassTree nodes are not resolved during annotation processing
+        // and any attempt to resolve them manually results in an error, while attribution does not affect types at all
+        private final Map<NewClassTree, String> effectiveConstructorOwnerTypeNames = new IdentityHashMap<>();
+        // results of isAssignable, the same argument and parameter types are checked for every candidate and iteration
+        private final Map<TypePair, Boolean> assignabilityCache = new HashMap<>();
+        // owners resolved for invocations and constructor calls, including the ones not known yet
+        private final Map<ExpressionTree, Symbol.TypeSymbol> ownerSymbols = new IdentityHashMap<>();
+        private final Trees trees;
+        private final JavacTypes types;
+        private final Elements elements;
+        private final Symtab symtab;
+        private final Attr attr;
+        private final Enter enter;
+        private final MemberEnter memberEnter;
+
+        private State(Trees trees, JavacTypes types, Elements elements, Symtab symtab, Attr attr, Enter enter,
+                      MemberEnter memberEnter) {
+            this.trees = trees;
+            this.types = types;
+            this.elements = elements;
+            this.symtab = symtab;
+            this.attr = attr;
+            this.enter = enter;
+            this.memberEnter = memberEnter;
+        }
+    }
 
     // initialized in org.projectparams.annotationprocessing.MainProcessor
-    public static void init(Trees trees, JavacTypes types, Elements elements, Symtab symtab, Attr attr, Enter enter,
-                            MemberEnter memberEnter) {
-        TypeUtils.trees = trees;
-        TypeUtils.types = types;
-        TypeUtils.elements = elements;
-        TypeUtils.symtab = symtab;
-        TypeUtils.attr = attr;
-        TypeUtils.enter = enter;
-        TypeUtils.memberEnter = memberEnter;
+    public static void init(ProcessingContext processingContext, Trees trees, JavacTypes types, Elements elements,
+                            Symtab symtab, Attr attr, Enter enter, MemberEnter memberEnter) {
+        processingContext.put(stateKey, new State(trees, types, elements, symtab, attr, enter, memberEnter));
+    }
+
+    private static State state() {
+        return ProcessingContext.current().get(stateKey);
     }
 
     public static Type getTypeByName(String name) {
+        var state = state();
         return switch (name) {
-            case "int", "java.lang.Integer" -> symtab.intType;
-            case "long", "java.lang.Long" -> symtab.longType;
-            case "float", "java.lang.Float" -> symtab.floatType;
-            case "double", "java.lang.Double" -> symtab.doubleType;
-            case "boolean", "java.lang.Boolean" -> symtab.booleanType;
-            case "void", "java.lang.Void" -> symtab.voidType;
-            case "byte", "java.lang.Byte" -> symtab.byteType;
-            case "short", "java.lang.Short" -> symtab.shortType;
-            case "char", "java.lang.Character" -> symtab.charType;
+            case "int", "java.lang.Integer" -> state.symtab.intType;
+            case "long", "java.lang.Long" -> state.symtab.longType;
+            case "float", "java.lang.Float" -> state.symtab.floatType;
+            case "double", "java.lang.Double" -> state.symtab.doubleType;
+            case "boolean", "java.lang.Boolean" -> state.symtab.booleanType;
+            case "void", "java.lang.Void" -> state.symtab.voidType;
+            case "byte", "java.lang.Byte" -> state.symtab.byteType;
+            case "short", "java.lang.Short" -> state.symtab.shortType;
+            case "char", "java.lang.Character" -> state.symtab.charType;
             default -> {
-                var typeElement = elements.getTypeElement(name);
+                var typeElement = state.elements.getTypeElement(name);
                 if (typeElement == null) {
                     yield Type.noType;
                 }
-                var type = types.getDeclaredType(typeElement);
+                var type = state.types.getDeclaredType(typeElement);
                 yield (Type) type;
             }
         };
@@ -101,11 +125,12 @@ public class TypeUtils {
     }
 
     public static TypeKind getTypeKind(TreePath path) {
-        var type = trees.getTypeMirror(path);
+        var state = state();
+        var type = state.trees.getTypeMirror(path);
         if (type == null) {
             return TypeKind.ERROR;
         }
-        var kind = trees.getTypeMirror(path).getKind();
+        var kind = state.trees.getTypeMirror(path).getKind();
         if (kind == TypeKind.BYTE || kind == TypeKind.SHORT) {
             kind = TypeKind.INT;
         }
@@ -115,7 +140,8 @@ public class TypeUtils {
     public static String getOwnerTypeName(MethodInvocationTree invocation, TreePath path) {
         String ownerQualifiedName;
         if (invocation.getMethodSelect() instanceof MemberSelectTree memberSelectTree) {
-            ownerQualifiedName = getOwnerNameFromMemberSelect(memberSelectTree, path);
+            var ownerType = getOwnerTypeFromMemberSelect(memberSelectTree, path);
+            ownerQualifiedName = ownerType == null ? null : getBoxedTypeName(ownerType.toString());
         } else if (invocation.getMethodSelect() instanceof IdentifierTree identifierTree) {
             ownerQualifiedName = getOwnerNameFromIdentifier(identifierTree, path);
         } else {
@@ -125,8 +151,29 @@ public class TypeUtils {
         return ownerQualifiedName;
     }
 
+    /**
+     * Same as {@link #getOwnerTypeName(MethodInvocationTree, TreePath)},
+     * but returns the symbol of the owner class, so it can be compared by identity
+     *
+     * @return symbol of the owner class or null if the owner type is not known yet
+     */
+    public static Symbol.TypeSymbol getOwnerSymbol(MethodInvocationTree invocation, TreePath path) {
+        return getCachedOwnerSymbol(invocation, () -> resolveOwnerSymbol(invocation, path));
+    }
+
+    private static Symbol.TypeSymbol resolveOwnerSymbol(MethodInvocationTree invocation, TreePath path) {
+        if (invocation.getMethodSelect() instanceof MemberSelectTree memberSelectTree) {
+            var ownerType = getOwnerTypeFromMemberSelect(memberSelectTree, path);
+            return ownerType == null ? null : ownerType.tsym;
+        } else if (invocation.getMethodSelect() instanceof IdentifierTree identifierTree) {
+            return getOwnerSymbolFromIdentifier(identifierTree, path);
+        }
+        throw new IllegalArgumentException("Unsupported method select type: "
+                + invocation.getMethodSelect().getClass().getCanonicalName());
+    }
+
     public static String getOwnerTypeName(NewClassTree newClassTree) {
-        var effectiveOwnerTypeName = effectiveConstructorOwnerTypeNames.get(newClassTree);
+        var effectiveOwnerTypeName = state().effectiveConstructorOwnerTypeNames.get(newClassTree);
         if (effectiveOwnerTypeName != null) {
             return effectiveOwnerTypeName;
         }
@@ -137,8 +184,57 @@ public class TypeUtils {
         return "<any>";
     }
 
+    /**
+     * @return symbol of the constructed class or null if it is not known yet
+     */
+    public static Symbol.TypeSymbol getOwnerSymbol(NewClassTree newClassTree) {
+        return getCachedOwnerSymbol(newClassTree, () -> resolveOwnerSymbol(newClassTree));
+    }
+
+    private static Symbol.TypeSymbol resolveOwnerSymbol(NewClassTree newClassTree) {
+        var state = state();
+        var effectiveOwnerTypeName = state.effectiveConstructorOwnerTypeNames.get(newClassTree);
+        if (effectiveOwnerTypeName != null) {
+            return (Symbol.TypeSymbol) state.elements.getTypeElement(effectiveOwnerTypeName);
+        }
+        var ownerType = ((JCTree.JCExpression) newClassTree.getIdentifier()).type;
+        return ownerType == null ? null : ownerType.tsym;
+    }
+
     public static void addConstructorOwnerTypeName(NewClassTree newClassTree, String ownerTypeName) {
-        effectiveConstructorOwnerTypeNames.put(newClassTree, ownerTypeName);
+        state().effectiveConstructorOwnerTypeNames.put(newClassTree, ownerTypeName);
+        invalidateOwnerSymbol(newClassTree);
+    }
+
+    /**
+     * The owner of a call site is resolved once and reused for every candidate it is matched against
+     * until {@link #invalidateOwnerSymbol(ExpressionTree)} is called for it
+     */
+    private static Symbol.TypeSymbol getCachedOwnerSymbol(ExpressionTree callSite,
+                                                          Supplier<Symbol.TypeSymbol> resolveOwner) {
+        var ownerSymbols = state().ownerSymbols;
+        if (ownerSymbols.containsKey(callSite)) {
+            return ownerSymbols.get(callSite);
+        }
+        ProcessingReport.increment(ProcessingReport.Counter.OWNER_RESOLUTIONS);
+        var owner = resolveOwner.get();
+        ownerSymbols.put(callSite, owner);
+        return owner;
+    }
+
+    /**
+     * Makes the owner of the call site resolved again, has to be called when its receiver or enclosing expression
+     * is rewritten or gets another type
+     */
+    public static void invalidateOwnerSymbol(ExpressionTree callSite) {
+        state().ownerSymbols.remove(callSite);
+    }
+
+    /**
+     * Drops the owners resolved in the previous processing round
+     */
+    public static void clearOwnerSymbols() {
+        state().ownerSymbols.clear();
     }
 
     public static String getOwnerNameFromIdentifier(IdentifierTree tree, TreePath path) {
@@ -152,20 +248,29 @@ public class TypeUtils {
                 });
     }
 
+    private static Symbol.TypeSymbol getOwnerSymbolFromIdentifier(IdentifierTree tree, TreePath path) {
+        var cuContext = CUContext.from(path.getCompilationUnit());
+        var matchingImport = cuContext.getMatchingImportedStaticMethod(tree.getName().toString());
+        return matchingImport.map(name -> (Symbol.TypeSymbol) state().elements.getTypeElement(name.substring(0, name.lastIndexOf('.'))))
+                .orElseGet(() -> ((JCTree.JCClassDecl) PathUtils.getEnclosingClassPath(path).getLeaf()).sym);
+    }
+
     @SuppressWarnings("all")
     private static void attributeExpression(JCTree expression, TreePath methodTreePath, boolean ignored) {
-        var env = memberEnter.getMethodEnv(
+        var state = state();
+        var env = state.memberEnter.getMethodEnv(
                 (JCTree.JCMethodDecl) methodTreePath.getLeaf(),
-                enter.getClassEnv(((JCTree.JCClassDecl) PathUtils.getEnclosingClassPath(methodTreePath).getLeaf()).sym)
+                state.enter.getClassEnv(((JCTree.JCClassDecl) PathUtils.getEnclosingClassPath(methodTreePath).getLeaf()).sym)
         );
-        attr.attribExpr(expression, env);
+        state.attr.attribExpr(expression, env);
     }
 
     private static void attributeExpression(JCTree expression, Tree classTree) {
-        var env = enter.getClassEnv(
+        var state = state();
+        var env = state.enter.getClassEnv(
                 ((JCTree.JCClassDecl) classTree).sym
         );
-        attr.attribExpr(expression, env);
+        state.attr.attribExpr(expression, env);
     }
 
     public static void attributeExpression(JCTree expression, TreePath exprToAttribute) {
@@ -179,48 +284,62 @@ public class TypeUtils {
         }
     }
 
-    private static String getOwnerNameFromMemberSelect(MemberSelectTree memberSelectTree, TreePath path) {
+    /**
+     * Attributes the innermost class enclosing the path if it was not attributed yet,
+     * same as {@link Trees#getElement(TreePath)} does for unresolved trees
+     */
+    public static void attributeEnclosingClass(TreePath path) {
+        for (var current = path; current != null; current = current.getParentPath()) {
+            if (current.getLeaf() instanceof JCTree.JCClassDecl classDecl && classDecl.sym != null) {
+                if ((classDecl.sym.flags_field & Flags.UNATTRIBUTED) != 0) {
+                    state().attr.attribClass(classDecl.pos(), classDecl.sym);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return true if the initializer of the field is attributed only once, when its constant value is computed
+     */
+    public static boolean hasLazyConstantValue(JCTree.JCVariableDecl field) {
+        return field.sym != null && (field.sym.flags() & Flags.FINAL) != 0
+                && field.init != null && state().memberEnter.needsLazyConstValue(field.init);
+    }
+
+    private static Type getOwnerTypeFromMemberSelect(MemberSelectTree memberSelectTree, TreePath path) {
+        var state = state();
         var expression = memberSelectTree.getExpression();
-        var ownerTree = trees.getTree(trees.getElement(new TreePath(path, expression)));
-        String ownerQualifiedName = null;
+        var ownerTree = state.trees.getTree(state.trees.getElement(new TreePath(path, expression)));
         if (ownerTree != null) {
-            switch (ownerTree) {
-                case JCTree.JCExpression expr -> ownerQualifiedName = getActualType(expr).toString();
-                case JCTree.JCClassDecl staticRef -> {
-                    var ownerType = staticRef.sym.type;
-                    if (ownerType != null) {
-                        ownerQualifiedName = TypeUtils.getBoxedTypeName(ownerType.toString());
-                    }
-                }
-                case JCTree.JCVariableDecl variableDecl -> {
-                    var ownerType = variableDecl.type;
-                    if (ownerType != null) {
-                        ownerQualifiedName = TypeUtils.getBoxedTypeName(ownerType.toString());
-                    }
-                }
-                case JCTree.JCMethodDecl methodDecl -> {
-                    var ownerType = methodDecl.type;
-                    if (ownerType != null) {
-                        ownerQualifiedName = TypeUtils.getBoxedTypeName(ownerType.toString());
-                    }
-                }
+            return switch (ownerTree) {
+                case JCTree.JCExpression expr -> getActualType(expr);
+                case JCTree.JCClassDecl staticRef -> staticRef.sym.type;
+                case JCTree.JCVariableDecl variableDecl -> variableDecl.type;
+                case JCTree.JCMethodDecl methodDecl -> getInvocationType(expression, methodDecl);
                 default -> throw new IllegalArgumentException("Unsupported owner type: "
                         + ownerTree.getClass().getCanonicalName() + " " + ownerTree
                         + " " + memberSelectTree);
-            }
-        } else {
-            // in case owner is return type of fixed method, we won`t be able to access its tree
-            // so retrieve type from method invocation manually
-            if (expression instanceof JCTree.JCExpression expr) {
-                var ownerType = getActualType(expr);
-                if (ownerType != null) {
-                    ownerQualifiedName = TypeUtils.getBoxedTypeName(ownerType.toString());
-                }
-            } else {
-                throw new IllegalArgumentException("Unsupported owner type: " + expression.getClass().getCanonicalName());
-            }
+            };
         }
-        return ownerQualifiedName;
+        // in case owner is return type of fixed method, we won`t be able to access its tree
+        // so retrieve type from method invocation manually
+        if (expression instanceof JCTree.JCExpression expr) {
+            return getActualType(expr);
+        }
+        throw new IllegalArgumentException("Unsupported owner type: " + expression.getClass().getCanonicalName());
+    }
+
+    /**
+     * @return type of the value of the invocation, the declared one if the invocation is not attributed yet
+     */
+    private static Type getInvocationType(ExpressionTree invocation, JCTree.JCMethodDecl method) {
+        // the attributed type keeps the type arguments inferred for the invocation
+        var type = ((JCTree.JCExpression) invocation).type;
+        if (type != null) {
+            return type;
+        }
+        return method.sym.isConstructor() ? method.sym.owner.type : method.sym.getReturnType();
     }
 
     public static Type getActualType(ExpressionTree tree) {
@@ -231,10 +350,42 @@ public class TypeUtils {
     }
 
     public static boolean isAssignable(Type toType, Type fromType) {
+        ProcessingReport.increment(ProcessingReport.Counter.IS_ASSIGNABLE_CALLS);
         if (toType == null || fromType == null) {
             return false;
         }
-        return types.isAssignable(toType, fromType);
+        var state = state();
+        var typePair = new TypePair(toType, fromType);
+        var cached = state.assignabilityCache.get(typePair);
+        if (cached != null) {
+            ProcessingReport.increment(ProcessingReport.Counter.ASSIGNABILITY_CACHE_HITS);
+            return cached;
+        }
+        var assignable = state.types.isAssignable(toType, fromType);
+        state.assignabilityCache.put(typePair, assignable);
+        return assignable;
+    }
+
+    /**
+     * Drops the results of {@link #isAssignable(Type, Type)} computed in the previous processing round
+     */
+    public static void clearAssignabilityCache() {
+        state().assignabilityCache.clear();
+    }
+
+    /**
+     * Pair of types compared by identity, javac types are immutable, so the same pair is always assignable or not
+     */
+    private record TypePair(Type toType, Type fromType) {
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof TypePair other && toType == other.toType && fromType == other.fromType;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(toType) + System.identityHashCode(fromType);
+        }
     }
 
     public static TypeTag geLiteralTypeTag(String literalAsString) {
@@ -1,40 +1,130 @@
 package org.projectparams.annotationprocessing.astcommons.context;
 
 import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.ImportTree;
+import com.sun.tools.javac.tree.JCTree;
+import org.projectparams.annotationprocessing.utils.ProcessingContext;
 
+import javax.lang.model.element.ElementKind;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 
-public record CUContext(
-        Set<String> importedClassNames,
-        Set<String> importedStaticMethods,
-        Set<String> importedFields
-) {
+/**
+ * Names imported into a compilation unit, indexed by simple name.
+ * <p>
+ * Contexts are built once per compilation unit, single-type imports are indexed right away.
+ * Wildcard imports and classes of the same package are only expanded when a name is not found among them
+ */
+public class CUContext {
+    private static final ProcessingContext.Key<Map<CompilationUnitTree, CUContext>> contextsKey =
+            new ProcessingContext.Key<>();
+
+    private final String packageName;
+    private final List<String> importedPackages = new ArrayList<>();
+    private final List<String> staticallyImportedClasses = new ArrayList<>();
+    private final Index explicitImports = new Index();
+    private Index onDemandImports;
+
+    private CUContext(String packageName) {
+        this.packageName = packageName;
+    }
+
+    private static class Index {
+        private final Map<String, String> classes = new HashMap<>();
+        private final Map<String, String> staticMethods = new HashMap<>();
+        private final Map<String, String> fields = new HashMap<>();
+
+        private void add(ElementKind kind, String qualifiedName) {
+            var byKind = switch (kind) {
+                case METHOD -> staticMethods;
+                case FIELD -> fields;
+                default -> classes;
+            };
+            byKind.putIfAbsent(qualifiedName.substring(qualifiedName.lastIndexOf('.') + 1), qualifiedName);
+        }
+    }
+
     public static CUContext from(CompilationUnitTree compilationUnitTree) {
-        return new CUContext(
-                ContextUtils.getImportedClassNames(compilationUnitTree),
-                ContextUtils.getImportedStaticMethods(compilationUnitTree),
-                ContextUtils.getImportedFields(compilationUnitTree)
-        );
+        return getContexts().computeIfAbsent(compilationUnitTree, CUContext::create);
     }
 
-    public Optional<String> getMatchingImportedStaticMethod(String methodName) {
-        return getMatch(importedStaticMethods, methodName);
+    /**
+     * Drops the contexts built in the previous processing round
+     */
+    public static void clearCache() {
+        getContexts().clear();
     }
 
-    public Optional<String> getMatchingImportedOrStaticClass(String name) {
-        var fieldsAndClasses = new ArrayList<>(importedFields);
-        fieldsAndClasses.addAll(importedClassNames);
-        return getMatch(fieldsAndClasses, name);
+    private static Map<CompilationUnitTree, CUContext> getContexts() {
+        return ProcessingContext.current().computeIfAbsent(contextsKey, IdentityHashMap::new);
     }
 
-    private Optional<String> getMatch(Collection<String> imports, String nameToMatch) {
-        return imports.stream()
-                .filter(importedName -> importedName.endsWith('.' + nameToMatch))
-                .findAny();
+    private static CUContext create(CompilationUnitTree compilationUnitTree) {
+        var packageName = compilationUnitTree.getPackageName() == null
+                ? "" : compilationUnitTree.getPackageName().toString();
+        var context = new CUContext(packageName);
+        for (var imp : compilationUnitTree.getImports()) {
+            context.addImport(imp);
+        }
+        return context;
     }
 
+    private void addImport(ImportTree imp) {
+        if (!(imp.getQualifiedIdentifier() instanceof JCTree.JCFieldAccess fieldAccess)) {
+            throw new UnsupportedOperationException("Unsupported import type: " + imp.getQualifiedIdentifier().getClass());
+        }
+        var isWildcard = fieldAccess.getIdentifier().contentEquals("*");
+        var selected = fieldAccess.getExpression().toString();
+        if (!imp.isStatic()) {
+            if (isWildcard) {
+                importedPackages.add(selected);
+            } else {
+                explicitImports.add(ElementKind.CLASS, fieldAccess.toString());
+            }
+        } else if (isWildcard) {
+            staticallyImportedClasses.add(selected);
+        } else {
+            ContextUtils.getStaticClassMembers(selected).stream()
+                    .filter(member -> member.getSimpleName().contentEquals(fieldAccess.getIdentifier()))
+                    .forEach(member -> explicitImports.add(member.getKind(), selected + '.' + member.getSimpleName()));
+        }
+    }
 
+    private Index getOnDemandImports() {
+        if (onDemandImports == null) {
+            onDemandImports = new Index();
+            // implicit imports are top-level classes in the same package as the compilation unit
+            ContextUtils.getClassnamesInPackage(packageName)
+                    .forEach(className -> onDemandImports.add(ElementKind.CLASS, className));
+            importedPackages.forEach(importedPackage -> ContextUtils.getClassnamesInPackage(importedPackage)
+                    .forEach(className -> onDemandImports.add(ElementKind.CLASS, className)));
+            staticallyImportedClasses.forEach(className -> ContextUtils.getStaticClassMembers(className)
+                    .forEach(member -> onDemandImports.add(member.getKind(), className + '.' + member.getSimpleName())));
+        }
+        return onDemandImports;
+    }
+
+    public Optional<String> getMatchingImportedStaticMethod(String methodName) {
+        return getMatch(explicitImports.staticMethods, methodName)
+                .or(() -> getMatch(getOnDemandImports().staticMethods, methodName));
+    }
+
+    public Optional<String> getMatchingImportedOrStaticClass(String name) {
+        return getMatch(explicitImports.fields, name)
+                .or(() -> getMatch(explicitImports.classes, name))
+                .or(() -> getMatch(getOnDemandImports().fields, name))
+                .or(() -> getMatch(getOnDemandImports().classes, name));
+    }
+
+    /**
+     * @param nameToMatch simple or partially qualified name
+     */
+    private static Optional<String> getMatch(Map<String, String> importsBySimpleName, String nameToMatch) {
+        return Optional.ofNullable(importsBySimpleName.get(nameToMatch.substring(nameToMatch.lastIndexOf('.') + 1)))
+                .filter(importedName -> importedName.endsWith('.' + nameToMatch));
+    }
 }
@@ -1,19 +1,38 @@
 package org.projectparams.annotationprocessing.astcommons.context;
 
 import com.sun.source.util.TreePath;
+import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.tree.JCTree;
+import org.projectparams.annotationprocessing.astcommons.PathUtils;
 import org.projectparams.annotationprocessing.utils.ElementUtils;
+import org.projectparams.annotationprocessing.utils.ProcessingContext;
 
 import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 
+/**
+ * Members visible by simple name in a class.
+ * <p>
+ * Contexts are cached per class, members of enclosing classes are looked up in the shared context of the enclosing class
+ *
+ * @param parent context of the enclosing class, null if its members are not visible
+ */
 public record ClassContext(
         TreePath classPath,
         CUContext cuContext,
-        Set<Method> methods,
-        Set<Field> fields
+        Map<String, Method> methods,
+        Map<String, Field> fields,
+        ClassContext parent
 ) {
+    private static final ProcessingContext.Key<Map<Key, ClassContext>> contextsKey = new ProcessingContext.Key<>();
+
+    private record Key(Symbol.ClassSymbol classSymbol, boolean requireStatic) {
+    }
+
     public static ClassMember of(String name, String className, boolean isStatic, ElementKind kind) {
         return switch (kind) {
             case METHOD -> new Method(name, className, isStatic);
@@ -26,10 +45,71 @@ public record ClassContext(
         if (!(classPath.getLeaf() instanceof com.sun.source.tree.ClassTree)) {
             throw new IllegalArgumentException("Expected class, got " + classPath.getLeaf().getKind());
         }
-        var cuContext = CUContext.from(classPath.getCompilationUnit());
-        var methods = ContextUtils.getMethodsInClass(classPath);
-        var fields = ContextUtils.getFieldsInClass(classPath);
-        return new ClassContext(classPath, cuContext, methods, fields);
+        return of(classPath, isStatic((JCTree.JCClassDecl) classPath.getLeaf()));
+    }
+
+    /**
+     * @param requireStatic whether only static members are visible, as in a static nested class
+     */
+    private static ClassContext of(TreePath classPath, boolean requireStatic) {
+        var decl = (JCTree.JCClassDecl) classPath.getLeaf();
+        var key = new Key(decl.sym, requireStatic);
+        var contexts = getContexts();
+        var context = contexts.get(key);
+        if (context == null) {
+            context = create(classPath, requireStatic);
+            contexts.put(key, context);
+        }
+        return context;
+    }
+
+    /**
+     * Drops the contexts built in the previous processing round
+     */
+    public static void clearCache() {
+        getContexts().clear();
+    }
+
+    private static Map<Key, ClassContext> getContexts() {
+        return ProcessingContext.current().computeIfAbsent(contextsKey, HashMap::new);
+    }
+
+    private static ClassContext create(TreePath classPath, boolean requireStatic) {
+        var decl = (JCTree.JCClassDecl) classPath.getLeaf();
+        var classSymbol = decl.sym;
+        var className = classSymbol.getQualifiedName().toString();
+        var methods = new HashMap<String, Method>();
+        var fields = new HashMap<String, Field>();
+        for (var member : classSymbol.getEnclosedElements()) {
+            var isStatic = member.getModifiers().contains(Modifier.STATIC);
+            if (requireStatic && !isStatic) {
+                continue;
+            }
+            var name = member.getSimpleName().toString();
+            if (member.getKind() == ElementKind.METHOD) {
+                methods.putIfAbsent(name, new Method(name, className, isStatic));
+            } else if (member.getKind() == ElementKind.FIELD) {
+                fields.putIfAbsent(name, new Field(name, className, isStatic));
+            }
+        }
+        ClassContext parent = null;
+        if (decl.extending != null && isNested(classPath)) {
+            parent = of(PathUtils.getEnclosingClassPath(classPath), isStatic(decl));
+        }
+        return new ClassContext(classPath, CUContext.from(classPath.getCompilationUnit()), methods, fields, parent);
+    }
+
+    private static boolean isStatic(JCTree.JCClassDecl decl) {
+        return decl.mods.getFlags().contains(Modifier.STATIC);
+    }
+
+    private static boolean isNested(TreePath classPath) {
+        for (var path = classPath.getParentPath(); path != null; path = path.getParentPath()) {
+            if (path.getLeaf() instanceof com.sun.source.tree.ClassTree) {
+                return true;
+            }
+        }
+        return false;
     }
 
     public String getClassName() {
@@ -37,23 +117,27 @@ public record ClassContext(
     }
 
     public Optional<Method> getMatchingMethod(String methodName) {
-        var matchingMethod = methods.stream()
-                .filter(method -> method.name.equals(methodName))
-                .findAny();
-        if (matchingMethod.isEmpty()) {
-            matchingMethod = cuContext.getMatchingImportedStaticMethod(methodName)
-                    .map(fullName -> {
-                        var className = fullName.substring(0, fullName.length() - methodName.length() - 1);
-                        return new Method(methodName, className, true);
-                    });
+        for (var context = this; context != null; context = context.parent) {
+            var method = context.methods.get(methodName);
+            if (method != null) {
+                return Optional.of(method);
+            }
         }
-        return matchingMethod;
+        return cuContext.getMatchingImportedStaticMethod(methodName)
+                .map(fullName -> {
+                    var className = fullName.substring(0, fullName.length() - methodName.length() - 1);
+                    return new Method(methodName, className, true);
+                });
     }
 
     public Optional<Field> getMatchingField(String fieldName) {
-        return fields.stream()
-                .filter(field -> field.name.equals(fieldName))
-                .findAny();
+        for (var context = this; context != null; context = context.parent) {
+            var field = context.fields.get(fieldName);
+            if (field != null) {
+                return Optional.of(field);
+            }
+        }
+        return Optional.empty();
     }
 
     public interface ClassMember {
@@ -23,6 +23,11 @@ public abstract class AbstractInvocableTree<T extends ExpressionTree> implements
         return wrapped;
     }
 
+    @Override
+    public TreePath getPath() {
+        return pathToWrapped;
+    }
+
     @Override
     public Kind getKind() {
         return wrapped.getKind();
@@ -64,11 +69,6 @@ public abstract class AbstractInvocableTree<T extends ExpressionTree> implements
         ((JCTree.JCExpression) wrapped).type = type;
     }
 
-    @Override
-    public void setReturnType(String type) {
-        setReturnType(TypeUtils.getTypeByName(type));
-    }
-
     @Override
     public List<Type> getArgumentTypes() {
         return getArguments().stream().map(TypeUtils::getActualType).toList();
@@ -0,0 +1,56 @@
+package org.projectparams.annotationprocessing.astcommons.invocabletree;
+
+import com.sun.source.util.TreePath;
+import org.projectparams.annotationprocessing.astcommons.PackageTree;
+import org.projectparams.annotationprocessing.astcommons.visitors.CallSiteIndexingVisitor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multimap from invoked simple name (or {@code <init>} for constructors) to all call sites with that name,
+ * collected in a single traversal of the package tree
+ */
+public class CallSiteIndex {
+    private final List<InvocableTree> callSites = new ArrayList<>();
+    private final Map<String, List<InvocableTree>> callSitesByName = new HashMap<>();
+
+    public static CallSiteIndex of(PackageTree packageTree) {
+        var index = new CallSiteIndex();
+        packageTree.accept(new CallSiteIndexingVisitor(), index);
+        return index;
+    }
+
+    public static CallSiteIndex of(TreePath scope) {
+        var index = new CallSiteIndex();
+        new CallSiteIndexingVisitor().scan(scope, index);
+        return index;
+    }
+
+    public void add(InvocableTree callSite) {
+        callSites.add(callSite);
+        callSitesByName.computeIfAbsent(callSite.getSelfName(), name -> new ArrayList<>()).add(callSite);
+    }
+
+    public List<InvocableTree> get(String name) {
+        return callSitesByName.getOrDefault(name, List.of());
+    }
+
+    /**
+     * @return all call sites in post-order, innermost receivers and arguments first
+     */
+    public List<InvocableTree> getAll() {
+        return callSites;
+    }
+
+    public int size() {
+        return callSites.size();
+    }
+
+    @Override
+    public String toString() {
+        return "CallSiteIndex{" + callSitesByName.keySet() + ", size=" + size() + "}";
+    }
+}
@@ -1,6 +1,8 @@
 package org.projectparams.annotationprocessing.astcommons.invocabletree;
 
 import com.sun.source.tree.ExpressionTree;
+import com.sun.source.util.TreePath;
+import com.sun.tools.javac.code.Symbol;
 import com.sun.tools.javac.code.Type;
 
 import java.util.List;
@@ -11,6 +13,11 @@ public interface InvocableTree extends ExpressionTree {
 
     String getOwnerTypeQualifiedName();
 
+    /**
+     * @return symbol of the class the invoked method or constructor belongs to, null if it's not known yet
+     */
+    Symbol.TypeSymbol getOwnerSymbol();
+
     List<? extends ExpressionTree> getArguments();
 
     void setArguments(ExpressionTree... arguments);
@@ -21,11 +28,11 @@ public interface InvocableTree extends ExpressionTree {
 
     ExpressionTree getWrapped();
 
+    TreePath getPath();
+
     Type getReturnType();
 
     void setReturnType(Type type);
 
-    void setReturnType(String type);
-
     List<Type> getArgumentTypes();
 }
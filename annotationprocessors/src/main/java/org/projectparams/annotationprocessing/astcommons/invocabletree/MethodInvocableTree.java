@@ -1,8 +1,11 @@
 package org.projectparams.annotationprocessing.astcommons.invocabletree;
 
 import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.MemberSelectTree;
 import com.sun.source.tree.MethodInvocationTree;
 import com.sun.source.util.TreePath;
+import com.sun.tools.javac.code.Symbol;
 import com.sun.tools.javac.code.Type;
 import com.sun.tools.javac.tree.JCTree;
 import org.projectparams.annotationprocessing.astcommons.TypeUtils;
@@ -31,8 +34,14 @@ public class MethodInvocableTree extends AbstractInvocableTree<MethodInvocationT
     public String getSelfName() {
         // methodSelect represents the method signature before the arguments list (invocation target name + method name)
         // so the last part of the method select is the method name
-        var split = wrapped.getMethodSelect().toString().split("\\.");
-        return split[split.length - 1];
+        return switch (wrapped.getMethodSelect()) {
+            case MemberSelectTree memberSelect -> memberSelect.getIdentifier().toString();
+            case IdentifierTree identifier -> identifier.getName().toString();
+            default -> {
+                var split = wrapped.getMethodSelect().toString().split("\\.");
+                yield split[split.length - 1];
+            }
+        };
     }
 
     @Override
@@ -41,15 +50,19 @@ public class MethodInvocableTree extends AbstractInvocableTree<MethodInvocationT
     }
 
     @Override
-    public void setReturnType(String returnType) {
+    public Symbol.TypeSymbol getOwnerSymbol() {
+        return TypeUtils.getOwnerSymbol(wrapped, pathToWrapped);
+    }
+
+    @Override
+    public void setReturnType(Type returnType) {
         super.setReturnType(returnType);
         var asJC = (JCTree.JCMethodInvocation) wrapped;
         asJC.meth.type = new Type.MethodType(
                 asJC.meth.type.getParameterTypes(),
-                TypeUtils.getTypeByName(returnType),
+                returnType,
                 asJC.meth.type.getThrownTypes(),
                 asJC.meth.type.tsym);
-        asJC.type = TypeUtils.getTypeByName(returnType);
     }
 
     @Override
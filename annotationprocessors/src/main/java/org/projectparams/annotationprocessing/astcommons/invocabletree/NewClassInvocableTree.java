@@ -3,6 +3,7 @@ package org.projectparams.annotationprocessing.astcommons.invocabletree;
 import com.sun.source.tree.ExpressionTree;
 import com.sun.source.tree.NewClassTree;
 import com.sun.source.util.TreePath;
+import com.sun.tools.javac.code.Symbol;
 import com.sun.tools.javac.code.Type;
 import com.sun.tools.javac.tree.JCTree;
 import org.projectparams.annotationprocessing.astcommons.TypeUtils;
@@ -26,6 +27,11 @@ public class NewClassInvocableTree extends AbstractInvocableTree<NewClassTree> {
         return TypeUtils.getOwnerTypeName(wrapped);
     }
 
+    @Override
+    public Symbol.TypeSymbol getOwnerSymbol() {
+        return TypeUtils.getOwnerSymbol(wrapped);
+    }
+
     @Override
     public List<? extends ExpressionTree> getArguments() {
         return wrapped.getArguments();
@@ -73,8 +79,8 @@ public class NewClassInvocableTree extends AbstractInvocableTree<NewClassTree> {
      * but throws if it's not the owner type
      */
     @Override
-    public void setReturnType(String returnType) {
-        if (!returnType.equals(getOwnerTypeQualifiedName())) {
+    public void setReturnType(Type returnType) {
+        if (returnType.tsym != getOwnerSymbol()) {
             throw new IllegalArgumentException("Cannot set return type of constructor to anything other than " +
                     "the owner type. Got: " + returnType + " for " + wrapped);
         }
@@ -2,21 +2,15 @@ package org.projectparams.annotationprocessing.astcommons.parsing.expressions;
 
 import org.projectparams.annotationprocessing.astcommons.parsing.ExpressionType;
 
-import java.util.HashMap;
-import java.util.Map;
-
 public abstract class AbstractExpressionType implements ExpressionType {
-    private final Map<String, Boolean> matchesCache = new HashMap<>();
     protected boolean canMatchNulls = false;
 
     @Override
     public boolean matches(String expression) {
-        if (matchesCache.containsKey(expression)) {
-            return matchesCache.get(expression);
+        if (expression == null) {
+            return canMatchNulls && !isCovered(null) && matchesInner(null);
         }
-        var result = (expression != null || canMatchNulls) && !isCovered(expression) && matchesInner(expression);
-        matchesCache.put(expression, result);
-        return result;
+        return !isCovered(expression) && matchesInner(expression);
     }
 
     protected abstract boolean matchesInner(String expression);
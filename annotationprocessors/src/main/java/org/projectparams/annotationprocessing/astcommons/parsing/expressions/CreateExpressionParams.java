@@ -6,15 +6,18 @@ import com.sun.tools.javac.code.TypeTag;
 import javax.annotation.Nullable;
 
 /**
- * @param expression         The string representation of the expression
+ * @param expression         The string representation of the expression, can be a view of a larger string,
+ *                           see {@link org.projectparams.annotationprocessing.astcommons.parsing.utils.ExpressionSlice}
  * @param typeTag            The type tag of the expression
  * @param parsingContextPath The path to the enclosing invocable element (method, constructor, etc.)
  */
-public record CreateExpressionParams(String expression,
+public record CreateExpressionParams(CharSequence expression,
                                      @Nullable TypeTag typeTag,
                                      TreePath parsingContextPath) {
-    // name seems odd, but it`s needed to recursively create expressions
-    public CreateExpressionParams withExpressionAndNullTag(String expression) {
-        return new CreateExpressionParams(expression, null, parsingContextPath);
+    /**
+     * @return the expression as a string, copied only if it is a view
+     */
+    public String expressionString() {
+        return expression == null ? null : expression.toString();
     }
 }
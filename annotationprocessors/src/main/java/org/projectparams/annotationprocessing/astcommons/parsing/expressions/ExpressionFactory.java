@@ -1,26 +1,73 @@
 package org.projectparams.annotationprocessing.astcommons.parsing.expressions;
 
 import org.projectparams.annotationprocessing.astcommons.parsing.expressions.literal.LiteralExpression;
-import org.projectparams.annotationprocessing.astcommons.parsing.utils.ExpressionUtils;
+import org.projectparams.annotationprocessing.astcommons.parsing.parser.ExpressionParser;
+import org.projectparams.annotationprocessing.astcommons.parsing.parser.JavacExpressionParser;
+import org.projectparams.annotationprocessing.utils.ProcessingContext;
+import org.projectparams.annotationprocessing.utils.ProcessingLog;
 
-import javax.annotation.processing.Messager;
-import javax.tools.Diagnostic;
+import java.util.Locale;
 
 public class ExpressionFactory {
-
-    public static Messager messager;
+    private static final ProcessingContext.Key<Parser> parserKey = new ProcessingContext.Key<>();
 
     private ExpressionFactory() {
     }
 
+    /**
+     * Parser that turns default values into expressions
+     */
+    public enum Parser {
+        // recursive descent parser of the supported expressions, see ExpressionParser
+        BUILTIN,
+        // javac's own parser, see JavacExpressionParser, expressions it rejects are parsed by the builtin parser
+        JAVAC;
+
+        public static Parser of(String name) {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    // initialized in org.projectparams.annotationprocessing.MainProcessor
+    public static void init(ProcessingContext processingContext, Parser parser) {
+        processingContext.put(parserKey, parser);
+    }
+
+    /**
+     * @return parser of the context bound to the current thread, {@link Parser#BUILTIN} if there is no context
+     */
+    private static Parser parser() {
+        var parser = ProcessingContext.find(parserKey);
+        return parser == null ? Parser.BUILTIN : parser;
+    }
+
     public static Expression createExpression(CreateExpressionParams createParams) {
         var expression = createParams.expression();
-        messager.printMessage(Diagnostic.Kind.NOTE, "Creating expression from " + expression);
+        ProcessingLog.trace(() -> "Creating expression from " + expression);
         if (expression == null) {
             return LiteralExpression.NULL;
         }
-        var type = ExpressionUtils.getType(createParams);
-        messager.printMessage(Diagnostic.Kind.NOTE, "Type of expression: " + type.getClass().getSimpleName());
-        return type.parse(createParams);
+        var created = switch (parser()) {
+            case BUILTIN -> ExpressionParser.parse(createParams);
+            case JAVAC -> parseWithJavac(createParams);
+        };
+        ProcessingLog.trace(() -> "Type of expression: " + created.getClass().getSimpleName());
+        return created;
+    }
+
+    private static Expression parseWithJavac(CreateExpressionParams createParams) {
+        try {
+            return JavacExpressionParser.parse(createParams);
+        } catch (IllegalArgumentException javacException) {
+            // javac rejects generic methods invoked by simple name, e.g. <T>m(), which get their owner when injected
+            ProcessingLog.debug(() -> "Parsing " + createParams.expression() + " with the builtin parser, javac failed: "
+                    + javacException.getMessage());
+            try {
+                return ExpressionParser.parse(createParams);
+            } catch (IllegalArgumentException e) {
+                e.addSuppressed(javacException);
+                throw e;
+            }
+        }
     }
 }
@@ -0,0 +1,68 @@
+package org.projectparams.annotationprocessing.astcommons.parsing.expressions;
+
+import com.sun.tools.javac.code.TypeTag;
+import com.sun.tools.javac.tree.JCTree;
+import org.projectparams.annotationprocessing.astcommons.parsing.utils.ExpressionMaker;
+import org.projectparams.annotationprocessing.utils.ProcessingContext;
+import org.projectparams.annotationprocessing.utils.ProcessingReport;
+
+import javax.lang.model.element.Element;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Default values parsed once per expression, type tag and declaring class by one parser.
+ * <p>
+ * Templates are never put into the compiled trees, each use gets a copy of the template that keeps its types.
+ * Each parser has its own templates, so parsers making different trees of the same default value never share them.
+ * The path in the create params is not part of the key, a template only depends on the declaring class:
+ * identifiers are qualified and owners of methods invoked by simple name are found in it, literals don't use the path
+ */
+public class ExpressionTemplates {
+    private static final ProcessingContext.Key<Map<ExpressionTemplates, Map<Key, JCTree.JCExpression>>> templatesKey =
+            new ProcessingContext.Key<>();
+
+    private final BiFunction<CreateExpressionParams, Element, JCTree.JCExpression> parser;
+
+    /**
+     * @param parser creates the template of a default value in the class declaring its invocable,
+     *               called once per key
+     */
+    public ExpressionTemplates(BiFunction<CreateExpressionParams, Element, JCTree.JCExpression> parser) {
+        this.parser = parser;
+    }
+
+    private record Key(String expression, TypeTag typeTag, Element declaringClass) {
+    }
+
+    /**
+     * @param declaringClass class declaring the invocable the default value belongs to
+     * @return copy of the template of the default value
+     */
+    public JCTree.JCExpression get(CreateExpressionParams createParams, Element declaringClass) {
+        var key = new Key(createParams.expressionString(), createParams.typeTag(), declaringClass);
+        var templates = getTemplates();
+        var template = templates.get(key);
+        if (template == null) {
+            ProcessingReport.increment(ProcessingReport.Counter.DEFAULT_VALUE_PARSES);
+            template = parser.apply(createParams, declaringClass);
+            templates.put(key, template);
+        } else {
+            ProcessingReport.increment(ProcessingReport.Counter.TEMPLATE_CACHE_HITS);
+        }
+        return ExpressionMaker.copy(template);
+    }
+
+    /**
+     * Drops the templates of all parsers parsed in the previous processing round
+     */
+    public static void clearCache() {
+        ProcessingContext.current().computeIfAbsent(templatesKey, HashMap::new).clear();
+    }
+
+    private Map<Key, JCTree.JCExpression> getTemplates() {
+        return ProcessingContext.current().computeIfAbsent(templatesKey, HashMap::new)
+                .computeIfAbsent(this, templates -> new HashMap<>());
+    }
+}
@@ -0,0 +1,163 @@
+package org.projectparams.annotationprocessing.astcommons.parsing.expressions.javac;
+
+import com.sun.source.util.TreePath;
+import com.sun.tools.javac.tree.JCTree;
+import com.sun.tools.javac.tree.TreeTranslator;
+import com.sun.tools.javac.util.Name;
+import org.projectparams.annotationprocessing.astcommons.TypeUtils;
+import org.projectparams.annotationprocessing.astcommons.context.ClassContext;
+import org.projectparams.annotationprocessing.astcommons.parsing.expressions.Expression;
+import org.projectparams.annotationprocessing.astcommons.parsing.expressions.named.ident.IdentifierExpression;
+import org.projectparams.annotationprocessing.astcommons.parsing.expressions.named.selectable.invocable.methodinvocation.MethodInvocationExpression;
+import org.projectparams.annotationprocessing.astcommons.parsing.utils.ExpressionMaker;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Expression parsed by javac, see {@link org.projectparams.annotationprocessing.astcommons.parsing.parser.JavacExpressionParser}.
+ * <p>
+ * Identifiers are qualified and methods invoked by simple name get their owners in passes over the tree,
+ * same as the other expressions do for each of their nodes
+ */
+public class JavacExpression implements Expression {
+    private final TreePath parsingContextPath;
+    private JCTree.JCExpression tree;
+
+    /**
+     * @param parsingContextPath path to the enclosing invocable element, as in
+     *                           {@link org.projectparams.annotationprocessing.astcommons.parsing.expressions.CreateExpressionParams}
+     */
+    public JavacExpression(JCTree.JCExpression tree, TreePath parsingContextPath) {
+        this.tree = tree;
+        this.parsingContextPath = parsingContextPath;
+    }
+
+    @Override
+    public JCTree.JCExpression toJcExpression() {
+        tree = new OwnerResolver().translate(tree);
+        return tree;
+    }
+
+    @Override
+    public void convertIdentsToQualified(ClassContext classContext) {
+        tree = new IdentQualifier(classContext).translate(tree);
+    }
+
+    @Override
+    public String toString() {
+        return tree.toString();
+    }
+
+    /**
+     * Qualifies identifiers the same way {@link IdentifierExpression} does.
+     * Names of types, of methods invoked by simple name, of lambda parameters and of locals declared
+     * in block lambda bodies are kept. Locals are kept until the end of the enclosing block,
+     * so loop variables and pattern bindings are never mistaken for fields
+     */
+    private static class IdentQualifier extends TreeTranslator {
+        private final ClassContext classContext;
+        private final List<Name> localNames = new ArrayList<>();
+
+        private IdentQualifier(ClassContext classContext) {
+            this.classContext = classContext;
+        }
+
+        @Override
+        public void visitIdent(JCTree.JCIdent tree) {
+            result = tree;
+            if (localNames.contains(tree.name)) {
+                return;
+            }
+            var name = tree.name.toString();
+            var identifier = new IdentifierExpression(name);
+            identifier.convertIdentsToQualified(classContext);
+            if (!identifier.name().equals(name)) {
+                result = identifier.toJcExpression();
+            }
+        }
+
+        @Override
+        public void visitApply(JCTree.JCMethodInvocation tree) {
+            if (tree.meth instanceof JCTree.JCFieldAccess methodSelect) {
+                methodSelect.selected = translate(methodSelect.selected);
+            }
+            tree.args = translate(tree.args);
+            result = tree;
+        }
+
+        @Override
+        public void visitNewClass(JCTree.JCNewClass tree) {
+            tree.encl = translate(tree.encl);
+            tree.args = translate(tree.args);
+            result = tree;
+        }
+
+        @Override
+        public void visitNewArray(JCTree.JCNewArray tree) {
+            tree.dims = translate(tree.dims);
+            tree.elems = translate(tree.elems);
+            result = tree;
+        }
+
+        @Override
+        public void visitTypeCast(JCTree.JCTypeCast tree) {
+            tree.expr = translate(tree.expr);
+            result = tree;
+        }
+
+        @Override
+        public void visitReference(JCTree.JCMemberReference tree) {
+            tree.expr = translate(tree.expr);
+            result = tree;
+        }
+
+        @Override
+        public void visitLambda(JCTree.JCLambda tree) {
+            var enclosingLocals = localNames.size();
+            tree.params.forEach(param -> localNames.add(param.name));
+            tree.body = translate(tree.body);
+            localNames.subList(enclosingLocals, localNames.size()).clear();
+            result = tree;
+        }
+
+        @Override
+        public void visitBlock(JCTree.JCBlock tree) {
+            var enclosingLocals = localNames.size();
+            tree.stats = translate(tree.stats);
+            localNames.subList(enclosingLocals, localNames.size()).clear();
+            result = tree;
+        }
+
+        @Override
+        public void visitVarDef(JCTree.JCVariableDecl tree) {
+            // the local is in scope in its own initializer
+            localNames.add(tree.name);
+            tree.init = translate(tree.init);
+            result = tree;
+        }
+    }
+
+    /**
+     * Selects methods invoked by simple name from their owners and attributes new class expressions,
+     * same as {@link MethodInvocationExpression} and
+     * {@link org.projectparams.annotationprocessing.astcommons.parsing.expressions.named.selectable.invocable.newclass.NewClassExpression} do
+     */
+    private class OwnerResolver extends TreeTranslator {
+        @Override
+        public void visitApply(JCTree.JCMethodInvocation tree) {
+            super.visitApply(tree);
+            if (tree.meth instanceof JCTree.JCIdent methodName) {
+                var name = methodName.name.toString();
+                tree.meth = ExpressionMaker.makeFieldAccess(
+                        MethodInvocationExpression.makeImplicitOwner(name, parsingContextPath), name);
+            }
+        }
+
+        @Override
+        public void visitNewClass(JCTree.JCNewClass tree) {
+            super.visitNewClass(tree);
+            TypeUtils.attributeExpression(tree, new TreePath(parsingContextPath, tree));
+        }
+    }
+}
@@ -20,9 +20,8 @@ public class LiteralExpressionType extends AbstractExpressionType {
         return INSTANCE;
     }
 
-    @Override
     public Expression parse(CreateExpressionParams createParams) {
-        var expression = createParams.expression().strip();
+        var expression = createParams.expressionString().strip();
         var typeTag = createParams.typeTag();
         if (typeTag == null) {
             typeTag = TypeUtils.geLiteralTypeTag(expression);
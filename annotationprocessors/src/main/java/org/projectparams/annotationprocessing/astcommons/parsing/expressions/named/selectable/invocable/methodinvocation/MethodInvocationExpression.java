@@ -30,19 +30,27 @@ public class MethodInvocationExpression extends InvocableExpression {
 
     private JCTree.JCExpression getOwnerExpression() {
         if (owner == null) {
-            var classContext = ClassContext.of(PathUtils.getEnclosingClassPath(enclosingInvocationPath));
-            var matchingMethod = classContext.getMatchingMethod(name);
-            if (matchingMethod.isEmpty()) {
-                throw new IllegalArgumentException("No matching method found for " + name);
-            }
-            var method = matchingMethod.get();
-            if (method.isStatic()) {
-                return ExpressionMaker.makeIdent(method.className());
-            } else {
-                return ExpressionMaker.makeIdent("this");
-            }
+            return makeImplicitOwner(name, enclosingInvocationPath);
         } else {
             return owner.toJcExpression();
         }
     }
+
+    /**
+     * @return owner of a method invoked by simple name, its class if the method is static, this otherwise
+     * @throws IllegalArgumentException if no method with the name is visible in the class enclosing the path
+     */
+    public static JCTree.JCExpression makeImplicitOwner(String name, TreePath enclosingInvocationPath) {
+        var classContext = ClassContext.of(PathUtils.getEnclosingClassPath(enclosingInvocationPath));
+        var matchingMethod = classContext.getMatchingMethod(name);
+        if (matchingMethod.isEmpty()) {
+            throw new IllegalArgumentException("No matching method found for " + name);
+        }
+        var method = matchingMethod.get();
+        if (method.isStatic()) {
+            return ExpressionMaker.makeIdent(method.className());
+        } else {
+            return ExpressionMaker.makeIdent("this");
+        }
+    }
 }
@@ -10,7 +10,7 @@ import org.projectparams.annotationprocessing.astcommons.parsing.utils.Expressio
 import java.util.List;
 
 public class NewClassExpression extends InvocableExpression {
-    NewClassExpression(String name, Expression owner,
+    public NewClassExpression(String name, Expression owner,
                        List<Expression> arguments,
                        TreePath enclosingInvocationPath,
                        List<Expression> typeParameters) {
@@ -0,0 +1,568 @@
+package org.projectparams.annotationprocessing.astcommons.parsing.parser;
+
+import com.sun.source.tree.MemberReferenceTree;
+import com.sun.tools.javac.code.TypeTag;
+import com.sun.tools.javac.tree.JCTree;
+import org.projectparams.annotationprocessing.astcommons.TypeUtils;
+import org.projectparams.annotationprocessing.astcommons.parsing.expressions.CreateExpressionParams;
+import org.projectparams.annotationprocessing.astcommons.parsing.expressions.Expression;
+import org.projectparams.annotationprocessing.astcommons.parsing.expressions.arrayaccess.ArrayAccessExpression;
+import org.projectparams.annotationprocessing.astcommons.parsing.expressions.cast.CastExpression;
+import org.projectparams.annotationprocessing.astcommons.parsing.expressions.conditional.ConditionalExpression;
+import org.projectparams.annotationprocessing.astcommons.parsing.expressions.lambda.LambdaExpression;
+import org.projectparams.annotationprocessing.astcommons.parsing.expressions.literal.LiteralExpression;
+import org.projectparams.annotationprocessing.astcommons.parsing.expressions.named.ident.IdentifierExpression;
+import org.projectparams.annotationprocessing.astcommons.parsing.expressions.named.ident.ParametrizedIdentifierExpression;
+import org.projectparams.annotationprocessing.astcommons.parsing.expressions.named.selectable.fieldaccess.FieldAccessExpression;
+import org.projectparams.annotationprocessing.astcommons.parsing.expressions.named.selectable.fieldaccess.ParametrizedFieldAccessExpression;
+import org.projectparams.annotationprocessing.astcommons.parsing.expressions.named.selectable.fieldaccess.memberref.MemberReferenceExpression;
+import org.projectparams.annotationprocessing.astcommons.parsing.expressions.named.selectable.invocable.methodinvocation.MethodInvocationExpression;
+import org.projectparams.annotationprocessing.astcommons.parsing.expressions.named.selectable.invocable.newclass.NewClassExpression;
+import org.projectparams.annotationprocessing.astcommons.parsing.expressions.newarray.NewArrayExpression;
+import org.projectparams.annotationprocessing.astcommons.parsing.expressions.operator.binary.BinaryExpression;
+import org.projectparams.annotationprocessing.astcommons.parsing.expressions.operator.unary.UnaryExpression;
+import org.projectparams.annotationprocessing.astcommons.parsing.expressions.parenthezied.ParenthesizedExpression;
+import org.projectparams.annotationprocessing.astcommons.parsing.parser.ExpressionTokenizer.Token;
+import org.projectparams.annotationprocessing.astcommons.parsing.parser.ExpressionTokenizer.TokenKind;
+import org.projectparams.annotationprocessing.astcommons.parsing.utils.ExpressionSlice;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Recursive descent parser building {@link Expression}s from the tokens of an expression in a single pass.
+ * <p>
+ * Binary operators are parsed by precedence climbing with Java precedences.
+ * Type arguments after a name are parsed speculatively, they are only kept if the name is then selected from,
+ * otherwise {@code <} is parsed again as an operator.
+ * Tokens are views of the expression, strings are only created for names, types and values of literals
+ */
+public class ExpressionParser {
+    private static final Map<String, JCTree.Tag> BINARY_OPERATORS = Map.ofEntries(
+            Map.entry("||", JCTree.Tag.OR),
+            Map.entry("&&", JCTree.Tag.AND),
+            Map.entry("|", JCTree.Tag.BITOR),
+            Map.entry("^", JCTree.Tag.BITXOR),
+            Map.entry("&", JCTree.Tag.BITAND),
+            Map.entry("==", JCTree.Tag.EQ),
+            Map.entry("!=", JCTree.Tag.NE),
+            Map.entry("<", JCTree.Tag.LT),
+            Map.entry(">", JCTree.Tag.GT),
+            Map.entry("<=", JCTree.Tag.LE),
+            Map.entry(">=", JCTree.Tag.GE),
+            Map.entry("<<", JCTree.Tag.SL),
+            Map.entry(">>", JCTree.Tag.SR),
+            Map.entry(">>>", JCTree.Tag.USR),
+            Map.entry("+", JCTree.Tag.PLUS),
+            Map.entry("-", JCTree.Tag.MINUS),
+            Map.entry("*", JCTree.Tag.MUL),
+            Map.entry("/", JCTree.Tag.DIV),
+            Map.entry("%", JCTree.Tag.MOD)
+    );
+    private static final Map<String, JCTree.Tag> PREFIX_OPERATORS = Map.of(
+            "++", JCTree.Tag.PREINC,
+            "--", JCTree.Tag.PREDEC,
+            "+", JCTree.Tag.POS,
+            "-", JCTree.Tag.NEG,
+            "!", JCTree.Tag.NOT,
+            "~", JCTree.Tag.COMPL
+    );
+    private static final Set<String> PRIMITIVE_TYPES =
+            Set.of("boolean", "byte", "short", "char", "int", "long", "float", "double");
+
+    private final CreateExpressionParams createParams;
+    private final ExpressionSlice expression;
+    private final List<Token> tokens;
+    private int position = 0;
+    // '>' characters of the current token that already closed type arguments, see expectClosingAngleBracket
+    private int closedAngleBrackets = 0;
+
+    private ExpressionParser(CreateExpressionParams createParams) {
+        this.createParams = createParams;
+        this.expression = ExpressionSlice.of(createParams.expression());
+        this.tokens = ExpressionTokenizer.tokenize(expression);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the expression is not a valid or supported Java expression
+     */
+    public static Expression parse(CreateExpressionParams createParams) {
+        var parser = new ExpressionParser(createParams);
+        var expression = parser.parseExpression();
+        if (parser.current().kind() != TokenKind.END) {
+            throw parser.unexpected();
+        }
+        return expression;
+    }
+
+    private static int getPrecedence(JCTree.Tag operator) {
+        return switch (operator) {
+            case OR -> 1;
+            case AND -> 2;
+            case BITOR -> 3;
+            case BITXOR -> 4;
+            case BITAND -> 5;
+            case EQ, NE -> 6;
+            case LT, GT, LE, GE, TYPETEST -> 7;
+            case SL, SR, USR -> 8;
+            case PLUS, MINUS -> 9;
+            default -> 10;
+        };
+    }
+
+    private Expression parseExpression() {
+        if (isLambdaStart()) {
+            return parseLambda();
+        }
+        var condition = parseBinary(1);
+        if (!accept("?")) {
+            return condition;
+        }
+        var ifTrue = parseExpression();
+        expect(":");
+        return new ConditionalExpression(condition, ifTrue, parseExpression());
+    }
+
+    private Expression parseBinary(int minPrecedence) {
+        var left = parseUnary();
+        while (true) {
+            var operator = current().is("instanceof") ? JCTree.Tag.TYPETEST : BINARY_OPERATORS.get(currentSymbol());
+            if (operator == null || getPrecedence(operator) < minPrecedence) {
+                return left;
+            }
+            advance();
+            var right = operator == JCTree.Tag.TYPETEST ? parseType() : parseBinary(getPrecedence(operator) + 1);
+            left = new BinaryExpression(left, right, operator);
+        }
+    }
+
+    private Expression parseUnary() {
+        var prefixOperator = PREFIX_OPERATORS.get(currentSymbol());
+        if (prefixOperator != null) {
+            advance();
+            return new UnaryExpression(parseUnary(), prefixOperator);
+        }
+        if (current().is("(")) {
+            var castedType = tryParseCastType();
+            if (castedType != null) {
+                return new CastExpression(parseUnary(), castedType);
+            }
+        }
+        return parsePostfix(parsePrimary());
+    }
+
+    /**
+     * Same as javac, parenthesized primitive type is always a cast,
+     * while parenthesized name is only a cast if it's followed by an operand that doesn't start with + or -
+     *
+     * @return casted type if the parentheses at the current token are a cast, null otherwise
+     */
+    private String tryParseCastType() {
+        var start = position;
+        advance();
+        if (current().kind() != TokenKind.IDENTIFIER) {
+            position = start;
+            return null;
+        }
+        var typeStart = current().start();
+        var isPrimitive = isPrimitiveType(current());
+        advance();
+        while (!isPrimitive && current().is(".") && peek(1).kind() == TokenKind.IDENTIFIER) {
+            advance();
+            advance();
+        }
+        var typeEnd = tokens.get(position - 1).end();
+        if (!current().is(")") || !isPrimitive && !startsOperand(peek(1))) {
+            position = start;
+            return null;
+        }
+        advance();
+        return expression.subSequence(typeStart, typeEnd).toString();
+    }
+
+    private static boolean startsOperand(Token token) {
+        return token.kind() == TokenKind.LITERAL
+                || token.kind() == TokenKind.IDENTIFIER && !token.is("instanceof")
+                || token.is("(") || token.is("!") || token.is("~");
+    }
+
+    private Expression parsePostfix(Expression expression) {
+        while (true) {
+            if (accept(".")) {
+                expression = parseSelection(expression);
+            } else if (accept("[")) {
+                var index = parseExpression();
+                expect("]");
+                expression = new ArrayAccessExpression(expression, index);
+            } else if (accept("::")) {
+                expression = parseMemberReference(expression);
+            } else if (current().is("++") || current().is("--")) {
+                var operator = current().is("++") ? JCTree.Tag.POSTINC : JCTree.Tag.POSTDEC;
+                advance();
+                return new UnaryExpression(expression, operator);
+            } else {
+                return expression;
+            }
+        }
+    }
+
+    private Expression parseSelection(Expression owner) {
+        if (current().is("new")) {
+            return parseNew(owner);
+        }
+        if (current().is("<")) {
+            var typeArguments = parseTypeArguments();
+            var name = expectIdentifier();
+            return new MethodInvocationExpression(name, owner, parseArguments(),
+                    createParams.parsingContextPath(), typeArguments);
+        }
+        var name = expectIdentifier();
+        if (current().is("(")) {
+            return new MethodInvocationExpression(name, owner, parseArguments(),
+                    createParams.parsingContextPath(), List.of());
+        }
+        var typeArguments = tryParseSelectedTypeArguments();
+        return typeArguments == null
+                ? new FieldAccessExpression(name, owner)
+                : new ParametrizedFieldAccessExpression(name, owner, typeArguments);
+    }
+
+    private Expression parseMemberReference(Expression owner) {
+        var typeArguments = current().is("<") ? parseTypeArguments() : null;
+        if (accept("new")) {
+            return new MemberReferenceExpression(MemberReferenceTree.ReferenceMode.NEW, "<init>", owner, typeArguments);
+        }
+        return new MemberReferenceExpression(MemberReferenceTree.ReferenceMode.INVOKE, expectIdentifier(),
+                owner, typeArguments);
+    }
+
+    private Expression parsePrimary() {
+        var token = current();
+        if (token.kind() == TokenKind.LITERAL || token.is("true") || token.is("false")) {
+            advance();
+            return makeLiteral(token);
+        }
+        if (token.is("null")) {
+            advance();
+            return LiteralExpression.NULL;
+        }
+        if (accept("(")) {
+            var expression = parseExpression();
+            expect(")");
+            return new ParenthesizedExpression(expression);
+        }
+        if (token.is("new")) {
+            return parseNew(null);
+        }
+        if (token.is("<")) {
+            var typeArguments = parseTypeArguments();
+            var name = expectIdentifier();
+            return new MethodInvocationExpression(name, null, parseArguments(),
+                    createParams.parsingContextPath(), typeArguments);
+        }
+        var name = expectIdentifier();
+        if (current().is("(")) {
+            return new MethodInvocationExpression(name, null, parseArguments(),
+                    createParams.parsingContextPath(), List.of());
+        }
+        var typeArguments = tryParseSelectedTypeArguments();
+        return typeArguments == null
+                ? new IdentifierExpression(name)
+                : new ParametrizedIdentifierExpression(name, typeArguments);
+    }
+
+    /**
+     * Only the literal that is the whole expression takes the type tag of the created expression,
+     * same as nested literals are created with null tag
+     */
+    private Expression makeLiteral(Token token) {
+        var text = token.text().toString();
+        var isWholeExpression = tokens.size() == 2;
+        var typeTag = isWholeExpression && createParams.typeTag() != null
+                ? createParams.typeTag()
+                : TypeUtils.geLiteralTypeTag(text);
+        return new LiteralExpression(TypeUtils.literalValueFromStr(typeTag, text));
+    }
+
+    /**
+     * Type arguments of the created class are not kept, the class is instantiated by its name,
+     * same as in {@link NewClassExpression}
+     */
+    private Expression parseNew(Expression owner) {
+        expect("new");
+        var typeStart = current().start();
+        var isPrimitive = isPrimitiveType(current());
+        expectIdentifier();
+        while (owner == null && current().is(".")) {
+            advance();
+            expectIdentifier();
+        }
+        var type = expression.subSequence(typeStart, tokens.get(position - 1).end()).toString();
+        if (current().is("<")) {
+            parseTypeArguments();
+        }
+        if (!isPrimitive && current().is("(")) {
+            var arguments = parseArguments();
+            if (current().is("{")) {
+                throw new IllegalArgumentException("Anonymous classes are not supported: " + expression);
+            }
+            return new NewClassExpression(type, owner, arguments, createParams.parsingContextPath(), List.of());
+        }
+        if (owner != null) {
+            throw unexpected();
+        }
+        return parseNewArray(type);
+    }
+
+    private Expression parseNewArray(String type) {
+        var dimensions = new ArrayList<Expression>();
+        var unspecifiedDimensions = 0;
+        do {
+            expect("[");
+            if (accept("]")) {
+                unspecifiedDimensions++;
+                continue;
+            }
+            if (unspecifiedDimensions > 0) {
+                throw unexpected();
+            }
+            dimensions.add(parseExpression());
+            expect("]");
+        } while (current().is("["));
+        if (current().is("{") && dimensions.isEmpty()) {
+            return parseArrayInitializer(type, unspecifiedDimensions);
+        }
+        if (dimensions.isEmpty() || unspecifiedDimensions > 0) {
+            throw new IllegalArgumentException("Array creation without initializer must specify all dimensions: "
+                    + expression);
+        }
+        return new NewArrayExpression(type, dimensions, null);
+    }
+
+    /**
+     * Nested initializers are created as arrays of the same type with one dimension less
+     */
+    private Expression parseArrayInitializer(String type, int dimensionsCount) {
+        expect("{");
+        var initializers = new ArrayList<Expression>();
+        while (!current().is("}")) {
+            if (current().is("{")) {
+                if (dimensionsCount < 2) {
+                    throw new IllegalArgumentException("Array initializer contains too many dimensions: " + expression);
+                }
+                initializers.add(parseArrayInitializer(type, dimensionsCount - 1));
+            } else {
+                initializers.add(parseExpression());
+            }
+            if (!accept(",")) {
+                break;
+            }
+        }
+        expect("}");
+        return new NewArrayExpression(type, Collections.nCopies(dimensionsCount, null), initializers);
+    }
+
+    private List<Expression> parseArguments() {
+        expect("(");
+        var arguments = new ArrayList<Expression>();
+        if (accept(")")) {
+            return arguments;
+        }
+        do {
+            arguments.add(parseExpression());
+        } while (accept(","));
+        expect(")");
+        return arguments;
+    }
+
+    /**
+     * @return type arguments if they are followed by a selection, i.e. {@code List<String>::size},
+     * null if there are none or the angle bracket is an operator
+     */
+    private List<Expression> tryParseSelectedTypeArguments() {
+        if (!current().is("<")) {
+            return null;
+        }
+        var start = position;
+        try {
+            var typeArguments = parseTypeArguments();
+            if (closedAngleBrackets == 0 && (current().is(".") || current().is("::"))) {
+                return typeArguments;
+            }
+        } catch (IllegalArgumentException e) {
+            // not type arguments, reparsed as an operator
+        }
+        position = start;
+        closedAngleBrackets = 0;
+        return null;
+    }
+
+    private List<Expression> parseTypeArguments() {
+        expect("<");
+        var typeArguments = new ArrayList<Expression>();
+        if (expectClosingAngleBracket(false)) {
+            return typeArguments;
+        }
+        do {
+            typeArguments.add(parseType());
+        } while (accept(","));
+        expectClosingAngleBracket(true);
+        return typeArguments;
+    }
+
+    /**
+     * Closes type arguments with the first '>' of the current token, so {@code >>} closes two of them
+     *
+     * @return true if the bracket was closed
+     */
+    private boolean expectClosingAngleBracket(boolean required) {
+        var token = current();
+        if (token.kind() != TokenKind.SYMBOL || currentText().charAt(0) != '>') {
+            if (required) {
+                throw unexpected();
+            }
+            return false;
+        }
+        closedAngleBrackets++;
+        if (closedAngleBrackets == token.text().length()) {
+            closedAngleBrackets = 0;
+            position++;
+        } else if (token.text().charAt(closedAngleBrackets) != '>') {
+            throw unexpected();
+        }
+        return true;
+    }
+
+    private Expression parseType() {
+        if (current().is("?")) {
+            throw new IllegalArgumentException("Wildcard type arguments are not supported: " + expression);
+        }
+        var name = expectIdentifier();
+        var typeArguments = current().is("<") ? parseTypeArguments() : null;
+        Expression type = typeArguments == null
+                ? new IdentifierExpression(name)
+                : new ParametrizedIdentifierExpression(name, typeArguments);
+        while (closedAngleBrackets == 0 && accept(".")) {
+            name = expectIdentifier();
+            typeArguments = current().is("<") ? parseTypeArguments() : null;
+            type = typeArguments == null
+                    ? new FieldAccessExpression(name, type)
+                    : new ParametrizedFieldAccessExpression(name, type, typeArguments);
+        }
+        if (closedAngleBrackets == 0 && current().is("[")) {
+            throw new IllegalArgumentException("Array type arguments are not supported: " + expression);
+        }
+        return type;
+    }
+
+    private boolean isLambdaStart() {
+        if (current().kind() == TokenKind.IDENTIFIER) {
+            return peek(1).is("->");
+        }
+        if (!current().is("(")) {
+            return false;
+        }
+        var offset = 1;
+        if (!peek(offset).is(")")) {
+            while (peek(offset).kind() == TokenKind.IDENTIFIER) {
+                offset++;
+                if (!peek(offset).is(",")) {
+                    break;
+                }
+                offset++;
+            }
+        }
+        return peek(offset).is(")") && peek(offset + 1).is("->");
+    }
+
+    private Expression parseLambda() {
+        var parameters = new ArrayList<String>();
+        if (accept("(")) {
+            if (!accept(")")) {
+                do {
+                    parameters.add(expectIdentifier());
+                } while (accept(","));
+                expect(")");
+            }
+        } else {
+            parameters.add(expectIdentifier());
+        }
+        expect("->");
+        if (current().is("{")) {
+            throw new IllegalArgumentException("Lambdas with block bodies are not supported: " + expression);
+        }
+        return new LambdaExpression(parameters, parseExpression());
+    }
+
+    private Token current() {
+        return tokens.get(position);
+    }
+
+    /**
+     * @return text of the current token without the angle brackets that already closed type arguments
+     */
+    private CharSequence currentText() {
+        var text = current().text();
+        return closedAngleBrackets == 0 ? text : text.subSequence(closedAngleBrackets, text.length());
+    }
+
+    /**
+     * @return text of the current token if it's a symbol, empty string otherwise
+     */
+    private String currentSymbol() {
+        return current().kind() == TokenKind.SYMBOL ? currentText().toString() : "";
+    }
+
+    private static boolean isPrimitiveType(Token token) {
+        for (var primitiveType : PRIMITIVE_TYPES) {
+            if (token.is(primitiveType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Token peek(int offset) {
+        return tokens.get(Math.min(position + offset, tokens.size() - 1));
+    }
+
+    private void advance() {
+        if (current().kind() != TokenKind.END) {
+            position++;
+        }
+        closedAngleBrackets = 0;
+    }
+
+    private boolean accept(String text) {
+        if (current().kind() != TokenKind.LITERAL && text.contentEquals(currentText())) {
+            advance();
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(String text) {
+        if (!accept(text)) {
+            throw unexpected();
+        }
+    }
+
+    private String expectIdentifier() {
+        var token = current();
+        if (token.kind() != TokenKind.IDENTIFIER || closedAngleBrackets != 0) {
+            throw unexpected();
+        }
+        advance();
+        return token.text().toString();
+    }
+
+    private IllegalArgumentException unexpected() {
+        var token = current();
+        return new IllegalArgumentException(token.kind() == TokenKind.END
+                ? "Unexpected end of expression " + expression
+                : "Unexpected '" + currentText() + "' at " + (token.start() + closedAngleBrackets) + " in " + expression);
+    }
+}
@@ -0,0 +1,161 @@
+package org.projectparams.annotationprocessing.astcommons.parsing.parser;
+
+import org.projectparams.annotationprocessing.astcommons.parsing.utils.ExpressionSlice;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits an expression into identifiers, literals and symbols in a single pass.
+ * <p>
+ * Symbols are matched greedily, so {@code >>} is a single token, the parser splits it when it closes type arguments.
+ * Keywords are identifiers, the parser tells them apart by their text.
+ * Texts of identifiers and literals are views of the expression, nothing is copied while tokenizing
+ */
+public class ExpressionTokenizer {
+    // longest symbols first, so the first matching symbol is the longest one
+    private static final List<String> SYMBOLS = List.of(
+            ">>>=",
+            "<<=", ">>=", ">>>", "...",
+            "->", "::", "++", "--", "&&", "||", "==", "!=", "<=", ">=", "<<", ">>",
+            "+=", "-=", "*=", "/=", "%=", "&=", "|=", "^=",
+            "(", ")", "[", "]", "{", "}", ",", ".", ";", "?", ":", "@",
+            "+", "-", "*", "/", "%", "&", "|", "^", "!", "~", "<", ">", "="
+    );
+
+    private final ExpressionSlice expression;
+    private int position = 0;
+
+    private ExpressionTokenizer(ExpressionSlice expression) {
+        this.expression = expression;
+    }
+
+    public enum TokenKind {
+        IDENTIFIER,
+        LITERAL,
+        SYMBOL,
+        END
+    }
+
+    /**
+     * Tokens are equal if their texts have the same characters, texts of different kinds are never equal
+     *
+     * @param text  view of the expression for identifiers and literals, one of the symbol strings for symbols
+     * @param start index of the first character of the token in the expression
+     * @param end   index right after the last character of the token in the expression
+     */
+    public record Token(TokenKind kind, CharSequence text, int start, int end) {
+        public boolean is(String symbol) {
+            return kind != TokenKind.LITERAL && symbol.contentEquals(text);
+        }
+    }
+
+    /**
+     * @return tokens of the expression, the last one is always {@link TokenKind#END}
+     * @throws IllegalArgumentException if the expression contains a character that can't start a token
+     *                                  or a literal that is not closed
+     */
+    public static List<Token> tokenize(CharSequence expression) {
+        return new ExpressionTokenizer(ExpressionSlice.of(expression)).tokenize();
+    }
+
+    private List<Token> tokenize() {
+        var tokens = new ArrayList<Token>();
+        skipWhitespace();
+        while (position < expression.length()) {
+            tokens.add(nextToken());
+            skipWhitespace();
+        }
+        tokens.add(new Token(TokenKind.END, "", expression.length(), expression.length()));
+        return tokens;
+    }
+
+    private Token nextToken() {
+        var start = position;
+        var c = expression.charAt(position);
+        if (Character.isJavaIdentifierStart(c)) {
+            do {
+                position++;
+            } while (position < expression.length() && Character.isJavaIdentifierPart(expression.charAt(position)));
+            return token(TokenKind.IDENTIFIER, start);
+        }
+        if (isDigit(c) || c == '.' && position + 1 < expression.length() && isDigit(expression.charAt(position + 1))) {
+            readNumber();
+            return token(TokenKind.LITERAL, start);
+        }
+        if (c == '"' || c == '\'') {
+            readQuoted(c);
+            return token(TokenKind.LITERAL, start);
+        }
+        for (var symbol : SYMBOLS) {
+            if (expression.startsWith(symbol, position)) {
+                position += symbol.length();
+                return new Token(TokenKind.SYMBOL, symbol, start, position);
+            }
+        }
+        throw new IllegalArgumentException("Unexpected character '" + c + "' at " + position + " in " + expression);
+    }
+
+    private Token token(TokenKind kind, int start) {
+        return new Token(kind, expression.subSequence(start, position), start, position);
+    }
+
+    private void readNumber() {
+        if (expression.charAt(position) == '0' && position + 1 < expression.length()
+                && "xXbB".indexOf(expression.charAt(position + 1)) != -1) {
+            position += 2;
+            while (position < expression.length() && (Character.digit(expression.charAt(position), 16) != -1
+                    || expression.charAt(position) == '_')) {
+                position++;
+            }
+        } else {
+            skipDigits();
+            if (position < expression.length() && expression.charAt(position) == '.') {
+                position++;
+                skipDigits();
+            }
+            if (position < expression.length() && (expression.charAt(position) == 'e' || expression.charAt(position) == 'E')) {
+                position++;
+                if (position < expression.length() && (expression.charAt(position) == '+' || expression.charAt(position) == '-')) {
+                    position++;
+                }
+                skipDigits();
+            }
+        }
+        // s and b are short and byte suffixes, which are supported in default values
+        if (position < expression.length() && "lLfFdDsSbB".indexOf(expression.charAt(position)) != -1) {
+            position++;
+        }
+    }
+
+    private void skipDigits() {
+        while (position < expression.length() && (isDigit(expression.charAt(position)) || expression.charAt(position) == '_')) {
+            position++;
+        }
+    }
+
+    private void readQuoted(char quote) {
+        var start = position;
+        position++;
+        while (position < expression.length() && expression.charAt(position) != quote) {
+            if (expression.charAt(position) == '\\') {
+                position++;
+            }
+            position++;
+        }
+        if (position >= expression.length()) {
+            throw new IllegalArgumentException("Unclosed literal at " + start + " in " + expression);
+        }
+        position++;
+    }
+
+    private void skipWhitespace() {
+        while (position < expression.length() && Character.isWhitespace(expression.charAt(position))) {
+            position++;
+        }
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
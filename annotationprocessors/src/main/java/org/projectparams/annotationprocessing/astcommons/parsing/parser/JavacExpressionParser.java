@@ -0,0 +1,80 @@
+package org.projectparams.annotationprocessing.astcommons.parsing.parser;
+
+import com.sun.tools.javac.parser.ParserFactory;
+import com.sun.tools.javac.parser.Tokens;
+import com.sun.tools.javac.tree.JCTree;
+import com.sun.tools.javac.tree.TreeScanner;
+import com.sun.tools.javac.util.Log;
+import org.projectparams.annotationprocessing.astcommons.parsing.expressions.CreateExpressionParams;
+import org.projectparams.annotationprocessing.astcommons.parsing.expressions.Expression;
+import org.projectparams.annotationprocessing.astcommons.parsing.expressions.javac.JavacExpression;
+import org.projectparams.annotationprocessing.astcommons.parsing.utils.ExpressionMaker;
+import org.projectparams.annotationprocessing.utils.ProcessingContext;
+
+import javax.tools.Diagnostic;
+import java.util.Locale;
+
+/**
+ * Parses expressions with the parser of the running javac, so every Java expression is supported.
+ * <p>
+ * Diagnostics of the parser are deferred and thrown as exceptions, they are never reported to the compilation.
+ * Positions of the parsed trees are relative to the expression, so they are reset to the position of made trees,
+ * which the parser moves, since it makes trees with the same tree maker
+ */
+public class JavacExpressionParser {
+    private static final ProcessingContext.Key<State> stateKey = new ProcessingContext.Key<>();
+
+    private JavacExpressionParser() {
+    }
+
+    private record State(ParserFactory parserFactory, Log log) {
+    }
+
+    // initialized in org.projectparams.annotationprocessing.MainProcessor
+    public static void init(ProcessingContext processingContext, ParserFactory parserFactory, Log log) {
+        processingContext.put(stateKey, new State(parserFactory, log));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the expression is not a single Java expression
+     */
+    public static Expression parse(CreateExpressionParams createParams) {
+        var state = ProcessingContext.current().get(stateKey);
+        var expression = createParams.expression();
+        var position = ExpressionMaker.position();
+        var diagnosticHandler = new Log.DeferredDiagnosticHandler(state.log());
+        JCTree.JCExpression tree;
+        try {
+            var parser = state.parserFactory().newParser(expression, false, false, false);
+            tree = parser.parseExpression();
+            for (var diagnostic : diagnosticHandler.getDiagnostics()) {
+                if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                    throw new IllegalArgumentException("Invalid expression " + expression + ": "
+                            + diagnostic.getMessage(Locale.ROOT));
+                }
+            }
+            var next = parser.token();
+            if (next.kind != Tokens.TokenKind.EOF) {
+                throw new IllegalArgumentException("Unexpected '" + expression.subSequence(next.pos, expression.length()) + "' at "
+                        + next.pos + " in " + expression);
+            }
+        } finally {
+            state.log().popDiagnosticHandler(diagnosticHandler);
+            ExpressionMaker.at(position);
+        }
+        resetPositions(tree, position);
+        return new JavacExpression(tree, createParams.parsingContextPath());
+    }
+
+    private static void resetPositions(JCTree tree, int position) {
+        tree.accept(new TreeScanner() {
+            @Override
+            public void scan(JCTree tree) {
+                if (tree != null) {
+                    tree.pos = position;
+                }
+                super.scan(tree);
+            }
+        });
+    }
+}
@@ -0,0 +1,93 @@
+package org.projectparams.annotationprocessing.astcommons.parsing.utils;
+
+import java.util.Objects;
+
+/**
+ * Read-only view of a range of a string.
+ * <p>
+ * Sub-sequences are views of the same string, so characters are only copied when {@link #toString()} is called.
+ * Slices are equal if they have the same characters, regardless of the string they view
+ */
+public final class ExpressionSlice implements CharSequence {
+    private final String source;
+    private final int start;
+    private final int end;
+
+    private ExpressionSlice(String source, int start, int end) {
+        this.source = source;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * @return the sequence itself if it is a slice, a view of the whole sequence otherwise
+     */
+    public static ExpressionSlice of(CharSequence expression) {
+        if (expression instanceof ExpressionSlice slice) {
+            return slice;
+        }
+        var source = expression.toString();
+        return new ExpressionSlice(source, 0, source.length());
+    }
+
+    public static ExpressionSlice of(String source, int start, int end) {
+        Objects.checkFromToIndex(start, end, source.length());
+        return new ExpressionSlice(source, start, end);
+    }
+
+    @Override
+    public int length() {
+        return end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+        Objects.checkIndex(index, length());
+        return source.charAt(start + index);
+    }
+
+    @Override
+    public ExpressionSlice subSequence(int start, int end) {
+        Objects.checkFromToIndex(start, end, length());
+        return new ExpressionSlice(source, this.start + start, this.start + end);
+    }
+
+    /**
+     * @return true if the text occurs in the slice at the given index
+     */
+    public boolean startsWith(String text, int index) {
+        return index >= 0 && index + text.length() <= length() && source.regionMatches(start + index, text, 0, text.length());
+    }
+
+    public boolean contentEquals(String text) {
+        return text.length() == length() && startsWith(text, 0);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ExpressionSlice slice) || slice.length() != length()) {
+            return false;
+        }
+        return source.regionMatches(start, slice.source, slice.start, length());
+    }
+
+    /**
+     * @return same hash as the string of the slice, computed without copying it
+     */
+    @Override
+    public int hashCode() {
+        var hash = 0;
+        for (var i = start; i < end; i++) {
+            hash = 31 * hash + source.charAt(i);
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return source.substring(start, end);
+    }
+}
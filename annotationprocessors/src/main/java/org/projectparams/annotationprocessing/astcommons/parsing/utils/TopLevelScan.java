@@ -0,0 +1,248 @@
+package org.projectparams.annotationprocessing.astcommons.parsing.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiPredicate;
+
+/**
+ * Positions of an expression that are not enclosed in parentheses, brackets, braces, angle brackets,
+ * string literals, conditional expressions, {@code new} expressions or lambdas, computed in a single pass.
+ * <p>
+ * An encloser is top-level itself if the expression is not enclosed right before or right after it.
+ * A scan can be queried with any number of predicates, see {@link ParsingUtils#getMatchingTopLevelSymbolIndex}
+ */
+public class TopLevelScan {
+    private static final String ENCLOSER_NAMES = "([{<\"?nl";
+    private static final int PARENTHESES = 0;
+    private static final int BRACKETS = 1;
+    private static final int BRACES = 2;
+    private static final int ANGLE_BRACKETS = 3;
+    private static final int QUOTES = 4;
+    private static final int CONDITIONAL = 5;
+    private static final int NEW_KEYWORD = 6;
+    private static final int LAMBDA = 7;
+
+    private final String expression;
+    private final boolean[] topLevel;
+
+    private TopLevelScan(String expression, boolean[] topLevel) {
+        this.expression = expression;
+        this.topLevel = topLevel;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the enclosers of the expression are unbalanced
+     */
+    public static TopLevelScan of(String expression) {
+        return new Scanner(expression).scan();
+    }
+
+    public boolean isTopLevel(int index) {
+        return topLevel[index];
+    }
+
+    /**
+     * @return the first top-level index starting from fromIndex (inclusive) that matches the predicate, or -1
+     */
+    public int indexOf(BiPredicate<String, Integer> symbolPredicate, int fromIndex) {
+        for (var i = Math.max(fromIndex, 0); i < topLevel.length; i++) {
+            if (topLevel[i] && symbolPredicate.test(expression, i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the last top-level index up to fromIndex (inclusive) that matches the predicate, or -1
+     */
+    public int lastIndexOf(BiPredicate<String, Integer> symbolPredicate, int fromIndex) {
+        for (var i = Math.min(fromIndex, topLevel.length - 1); i >= 0; i--) {
+            if (topLevel[i] && symbolPredicate.test(expression, i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int count(BiPredicate<String, Integer> symbolPredicate) {
+        var count = 0;
+        for (var i = 0; i < topLevel.length; i++) {
+            if (topLevel[i] && symbolPredicate.test(expression, i)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static class Scanner {
+        private final String expression;
+        private final int[] enclosersCount = new int[ENCLOSER_NAMES.length()];
+        // enclosers count right after the last new keyword, the new expression ends when they are the same again
+        private final int[] newKeywordEnclState = new int[ENCLOSER_NAMES.length()];
+        // closest '>' and ')' at or after each index, -1 if there are none
+        private final int[] nextAngleBracketClose;
+        private final int[] nextParenthesisClose;
+        // closest '<' and ')' before the current index, -1 if there are none
+        private int lastAngleBracketOpen = -1;
+        private int lastParenthesisClose = -1;
+        private int firstLineTerminator = -1;
+        private int lastLineTerminator = -1;
+
+        private Scanner(String expression) {
+            this.expression = expression;
+            var length = expression.length();
+            nextAngleBracketClose = new int[length];
+            nextParenthesisClose = new int[length];
+            var nextAngleBracket = -1;
+            var nextParenthesis = -1;
+            for (var i = length - 1; i >= 0; i--) {
+                var c = expression.charAt(i);
+                if (c == '>') {
+                    nextAngleBracket = i;
+                } else if (c == ')') {
+                    nextParenthesis = i;
+                } else if (isLineTerminator(c)) {
+                    firstLineTerminator = i;
+                    if (lastLineTerminator == -1) {
+                        lastLineTerminator = i;
+                    }
+                }
+                nextAngleBracketClose[i] = nextAngleBracket;
+                nextParenthesisClose[i] = nextParenthesis;
+            }
+        }
+
+        private TopLevelScan scan() {
+            var topLevel = new boolean[expression.length()];
+            for (var i = 0; i < expression.length(); i++) {
+                var enclosedBefore = isEnclosed();
+                var mutated = updateEnclosers(i);
+                for (var count : enclosersCount) {
+                    if (count < 0) {
+                        throw new IllegalArgumentException("Unbalanced parentheses in " + expression);
+                    }
+                }
+                // symbol can be an encloser, so it is checked once more after modifying enclosers count
+                topLevel[i] = !enclosedBefore || mutated && !isEnclosed();
+                if (expression.charAt(i) == '<') {
+                    lastAngleBracketOpen = i;
+                } else if (expression.charAt(i) == ')') {
+                    lastParenthesisClose = i;
+                }
+            }
+            if (isEnclosed()) {
+                throw new IllegalArgumentException("Unclosed enclosing expressions in " + expression
+                        + ". Non-empty enclosers: " + getNonEmptyEnclosers());
+            }
+            return new TopLevelScan(expression, topLevel);
+        }
+
+        private boolean updateEnclosers(int i) {
+            var c = expression.charAt(i);
+            if (c == '(' || c == '[' || c == '{' || c == '<' && isTypeArgsBracket(i) || c == '?') {
+                enclosersCount[ENCLOSER_NAMES.indexOf(c)]++;
+                return true;
+            } else if (c == ']' || c == '}' || c == ')') {
+                enclosersCount[c == ']' ? BRACKETS : c == '}' ? BRACES : PARENTHESES]--;
+                updateNewKeywordEnclCount();
+                return true;
+            } else if (c == '>') {
+                if (isTypeArgsBracket(i)) {
+                    enclosersCount[ANGLE_BRACKETS]--;
+                    return true;
+                } else if (i > 0 && expression.charAt(i - 1) == '-') {
+                    enclosersCount[LAMBDA]++;
+                    return true;
+                }
+            } else if (c == ':') {
+                return updateConditionalEnclCount(i);
+            } else if (isNewKeyword(i) && enclosersCount[NEW_KEYWORD] == 0) {
+                enclosersCount[NEW_KEYWORD]++;
+                System.arraycopy(enclosersCount, 0, newKeywordEnclState, 0, enclosersCount.length);
+                return true;
+            } else if (c == '"') {
+                if (i == 0 || expression.charAt(i - 1) != '\\') {
+                    enclosersCount[QUOTES] = enclosersCount[QUOTES] == 0 ? 1 : enclosersCount[QUOTES] - 1;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean updateConditionalEnclCount(int i) {
+            if (i == 0 || i == expression.length() - 1) {
+                throw new IllegalArgumentException("Dangling colon in " + expression);
+            } else if (expression.charAt(i - 1) != ':' && expression.charAt(i + 1) != ':') { // exclude :: operator
+                enclosersCount[CONDITIONAL]--;
+                return true;
+            }
+            return false;
+        }
+
+        private void updateNewKeywordEnclCount() {
+            if (enclosersCount[NEW_KEYWORD] > 0 && Arrays.equals(enclosersCount, newKeywordEnclState)) {
+                enclosersCount[NEW_KEYWORD]--;
+            }
+        }
+
+        /**
+         * Same as {@link ParsingUtils#isTypeArgsBracket(String, int)}, with closest brackets looked up in the scan
+         */
+        private boolean isTypeArgsBracket(int i) {
+            if (expression.charAt(i) == '<') {
+                var closeBracketIndex = nextAngleBracketClose[i];
+                if (closeBracketIndex == -1) {
+                    return false;
+                }
+                var closeParIndex = nextParenthesisClose[i];
+                return closeParIndex == -1 || closeParIndex > closeBracketIndex;
+            }
+            if (i > 0 && expression.charAt(i - 1) == '-' || lastAngleBracketOpen == -1) {
+                return false;
+            }
+            return lastParenthesisClose == -1 || lastParenthesisClose < lastAngleBracketOpen;
+        }
+
+        /**
+         * @return true if a new keyword followed by whitespace starts at the index,
+         * and there are no line terminators anywhere else in the expression, same as {@code .{i}new\s.*} matches it
+         */
+        private boolean isNewKeyword(int i) {
+            return expression.startsWith("new", i)
+                    && i + 3 < expression.length() && isWhitespace(expression.charAt(i + 3))
+                    && (firstLineTerminator == -1 || firstLineTerminator >= i)
+                    && (lastLineTerminator == -1 || lastLineTerminator <= i + 3);
+        }
+
+        private boolean isEnclosed() {
+            for (var count : enclosersCount) {
+                if (count != 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private List<String> getNonEmptyEnclosers() {
+            var nonEmpty = new ArrayList<String>();
+            for (var i = 0; i < enclosersCount.length; i++) {
+                if (enclosersCount[i] != 0) {
+                    nonEmpty.add(ENCLOSER_NAMES.charAt(i) + "=" + enclosersCount[i]);
+                }
+            }
+            return nonEmpty;
+        }
+
+        // same characters as \s in regular expressions
+        private static boolean isWhitespace(char c) {
+            return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+        }
+
+        // characters not matched by . in regular expressions
+        private static boolean isLineTerminator(char c) {
+            return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+        }
+    }
+}
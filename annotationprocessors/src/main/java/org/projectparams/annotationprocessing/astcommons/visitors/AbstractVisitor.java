@@ -1,5 +1,6 @@
 package org.projectparams.annotationprocessing.astcommons.visitors;
 
+import com.sun.source.tree.Tree;
 import com.sun.source.util.TreePathScanner;
 import com.sun.source.util.Trees;
 
@@ -8,9 +9,20 @@ import javax.annotation.processing.Messager;
 public abstract class AbstractVisitor<R, P> extends TreePathScanner<R, P> {
     protected final Trees trees;
     protected final Messager messager;
+    private final NodeCounter nodeCounter = new NodeCounter();
 
     public AbstractVisitor(Trees trees, Messager messager) {
         this.trees = trees;
         this.messager = messager;
     }
+
+    @Override
+    public R scan(Tree tree, P p) {
+        nodeCounter.enter(tree);
+        try {
+            return super.scan(tree, p);
+        } finally {
+            nodeCounter.exit();
+        }
+    }
 }
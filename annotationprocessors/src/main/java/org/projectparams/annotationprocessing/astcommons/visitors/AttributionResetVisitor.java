@@ -0,0 +1,131 @@
+package org.projectparams.annotationprocessing.astcommons.visitors;
+
+import com.sun.tools.javac.code.Flags;
+import com.sun.tools.javac.tree.JCTree;
+import com.sun.tools.javac.tree.TreeScanner;
+import org.projectparams.annotationprocessing.astcommons.TypeUtils;
+
+/**
+ * Makes javac attribute modified classes again.
+ * <p>
+ * Annotation processing rounds get this for free, javac cleans and re-enters all trees after the last round.
+ * Outside of processing rounds class and member symbols are kept and marked as unattributed,
+ * while everything attributed inside bodies and initializers is cleared the same way javac cleans trees between rounds
+ */
+public class AttributionResetVisitor extends TreeScanner {
+    private boolean inBody = false;
+
+    @Override
+    public void scan(JCTree tree) {
+        super.scan(tree);
+        if (inBody && tree != null) {
+            tree.type = null;
+        }
+    }
+
+    @Override
+    public void visitTopLevel(JCTree.JCCompilationUnit compilationUnit) {
+        // package and imports are resolved while entering and are left as is
+        compilationUnit.getTypeDecls().forEach(this::scan);
+    }
+
+    @Override
+    public void visitClassDef(JCTree.JCClassDecl classDecl) {
+        if (inBody) {
+            // local and anonymous classes are entered again during attribution
+            classDecl.sym = null;
+            super.visitClassDef(classDecl);
+            return;
+        }
+        if (classDecl.sym != null) {
+            classDecl.sym.flags_field |= Flags.UNATTRIBUTED;
+        }
+        for (var member : classDecl.defs) {
+            switch (member) {
+                case JCTree.JCClassDecl memberClass -> visitClassDef(memberClass);
+                case JCTree.JCMethodDecl method -> scanBody(method.body);
+                case JCTree.JCVariableDecl field when !TypeUtils.hasLazyConstantValue(field) -> scanBody(field.init);
+                case JCTree.JCBlock initializer -> scanBody(initializer);
+                default -> {
+                }
+            }
+        }
+    }
+
+    private void scanBody(JCTree body) {
+        inBody = true;
+        try {
+            scan(body);
+        } finally {
+            inBody = false;
+        }
+    }
+
+    @Override
+    public void visitMethodDef(JCTree.JCMethodDecl method) {
+        method.sym = null;
+        super.visitMethodDef(method);
+    }
+
+    @Override
+    public void visitVarDef(JCTree.JCVariableDecl variable) {
+        variable.sym = null;
+        super.visitVarDef(variable);
+    }
+
+    @Override
+    public void visitApply(JCTree.JCMethodInvocation invocation) {
+        invocation.varargsElement = null;
+        super.visitApply(invocation);
+    }
+
+    @Override
+    public void visitNewClass(JCTree.JCNewClass newClass) {
+        newClass.constructor = null;
+        newClass.constructorType = null;
+        newClass.varargsElement = null;
+        super.visitNewClass(newClass);
+    }
+
+    @Override
+    public void visitAssignop(JCTree.JCAssignOp assignOp) {
+        assignOp.operator = null;
+        super.visitAssignop(assignOp);
+    }
+
+    @Override
+    public void visitUnary(JCTree.JCUnary unary) {
+        unary.operator = null;
+        super.visitUnary(unary);
+    }
+
+    @Override
+    public void visitBinary(JCTree.JCBinary binary) {
+        binary.operator = null;
+        super.visitBinary(binary);
+    }
+
+    @Override
+    public void visitSelect(JCTree.JCFieldAccess fieldAccess) {
+        fieldAccess.sym = null;
+        super.visitSelect(fieldAccess);
+    }
+
+    @Override
+    public void visitIdent(JCTree.JCIdent ident) {
+        ident.sym = null;
+        super.visitIdent(ident);
+    }
+
+    @Override
+    public void visitReference(JCTree.JCMemberReference memberReference) {
+        memberReference.sym = null;
+        super.visitReference(memberReference);
+    }
+
+    @Override
+    public void visitAnnotation(JCTree.JCAnnotation annotation) {
+        annotation.attribute = null;
+        super.visitAnnotation(annotation);
+    }
+}
@@ -0,0 +1,40 @@
+package org.projectparams.annotationprocessing.astcommons.visitors;
+
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.NewClassTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.TreePathScanner;
+import org.projectparams.annotationprocessing.astcommons.invocabletree.CallSiteIndex;
+import org.projectparams.annotationprocessing.astcommons.invocabletree.MethodInvocableTree;
+import org.projectparams.annotationprocessing.astcommons.invocabletree.NewClassInvocableTree;
+
+/**
+ * Collects call sites in post-order, so receivers and arguments always precede the invocations using them
+ */
+public class CallSiteIndexingVisitor extends TreePathScanner<Void, CallSiteIndex> {
+    private final NodeCounter nodeCounter = new NodeCounter();
+
+    @Override
+    public Void scan(Tree tree, CallSiteIndex index) {
+        nodeCounter.enter(tree);
+        try {
+            return super.scan(tree, index);
+        } finally {
+            nodeCounter.exit();
+        }
+    }
+
+    @Override
+    public Void visitMethodInvocation(MethodInvocationTree invocation, CallSiteIndex index) {
+        super.visitMethodInvocation(invocation, index);
+        index.add(new MethodInvocableTree(invocation, getCurrentPath()));
+        return null;
+    }
+
+    @Override
+    public Void visitNewClass(NewClassTree newClass, CallSiteIndex index) {
+        super.visitNewClass(newClass, index);
+        index.add(new NewClassInvocableTree(newClass, getCurrentPath()));
+        return null;
+    }
+}
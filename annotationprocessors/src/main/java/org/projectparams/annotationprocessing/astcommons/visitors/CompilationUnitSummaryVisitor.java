@@ -0,0 +1,51 @@
+package org.projectparams.annotationprocessing.astcommons.visitors;
+
+import com.sun.source.tree.*;
+import com.sun.source.util.TreeScanner;
+import org.projectparams.annotationprocessing.astcommons.CompilationUnitSummary;
+
+public class CompilationUnitSummaryVisitor extends TreeScanner<Void, CompilationUnitSummary> {
+    private final NodeCounter nodeCounter = new NodeCounter();
+
+    @Override
+    public Void scan(Tree tree, CompilationUnitSummary summary) {
+        nodeCounter.enter(tree);
+        try {
+            return super.scan(tree, summary);
+        } finally {
+            nodeCounter.exit();
+        }
+    }
+
+    @Override
+    public Void visitMethodInvocation(MethodInvocationTree invocation, CompilationUnitSummary summary) {
+        summary.invokedNames().add(getSimpleName(invocation.getMethodSelect()));
+        return super.visitMethodInvocation(invocation, summary);
+    }
+
+    @Override
+    public Void visitNewClass(NewClassTree newClass, CompilationUnitSummary summary) {
+        summary.constructedTypeNames().add(getSimpleName(newClass.getIdentifier()));
+        return super.visitNewClass(newClass, summary);
+    }
+
+    @Override
+    public Void visitMemberReference(MemberReferenceTree memberReference, CompilationUnitSummary summary) {
+        if (memberReference.getMode() == MemberReferenceTree.ReferenceMode.NEW) {
+            summary.constructedTypeNames().add(getSimpleName(memberReference.getQualifierExpression()));
+        } else {
+            summary.invokedNames().add(memberReference.getName().toString());
+        }
+        return super.visitMemberReference(memberReference, summary);
+    }
+
+    private static String getSimpleName(Tree tree) {
+        return switch (tree) {
+            case IdentifierTree identifier -> identifier.getName().toString();
+            case MemberSelectTree memberSelect -> memberSelect.getIdentifier().toString();
+            case ParameterizedTypeTree parameterizedType -> getSimpleName(parameterizedType.getType());
+            case AnnotatedTypeTree annotatedType -> getSimpleName(annotatedType.getUnderlyingType());
+            default -> tree.toString();
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package org.projectparams.annotationprocessing.astcommons.visitors;
+
+import com.sun.source.tree.Tree;
+import org.projectparams.annotationprocessing.utils.ProcessingReport;
+
+/**
+ * Counts nodes visited by a scanner and adds them to {@link ProcessingReport.Counter#NODES_VISITED}
+ * once the outermost scan returns, e.g. once per compilation unit if the package tree is visited
+ */
+class NodeCounter {
+    // read once, the report is looked up in the processing context
+    private final boolean enabled = ProcessingReport.isEnabled();
+    private int depth = 0;
+    private long count = 0;
+
+    void enter(Tree tree) {
+        if (enabled) {
+            depth++;
+            if (tree != null) {
+                count++;
+            }
+        }
+    }
+
+    void exit() {
+        if (enabled && --depth == 0) {
+            ProcessingReport.add(ProcessingReport.Counter.NODES_VISITED, count);
+            count = 0;
+        }
+    }
+}
@@ -7,6 +7,17 @@ import com.sun.tools.javac.tree.JCTree;
 import java.util.*;
 
 public class ReevaluateTreePositionsVisitor extends TreePathScanner<Void, Void> {
+    private final NodeCounter nodeCounter = new NodeCounter();
+
+    @Override
+    public Void scan(Tree tree, Void aVoid) {
+        nodeCounter.enter(tree);
+        try {
+            return super.scan(tree, aVoid);
+        } finally {
+            nodeCounter.exit();
+        }
+    }
 
     @Override
     public Void visitClass(ClassTree tree, Void aVoid) {
@@ -0,0 +1,23 @@
+package org.projectparams.annotationprocessing.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event of injecting default values into the body of a method
+ */
+@Name("org.projectparams.Injection")
+@Label("Default Value Injection")
+@Category("ProjectParams")
+@Enabled(false)
+@StackTrace(false)
+public class InjectionEvent extends jdk.jfr.Event {
+    @Label("Method")
+    public String method;
+
+    @Label("Injected Statements")
+    public int injectedStatements;
+}
@@ -0,0 +1,32 @@
+package org.projectparams.annotationprocessing.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event committed for each pooled invocable after its call sites are fixed
+ */
+@Name("org.projectparams.InvocableRewrites")
+@Label("Invocable Rewrites")
+@Category("ProjectParams")
+@Enabled(false)
+@StackTrace(false)
+public class InvocableRewritesEvent extends jdk.jfr.Event {
+    @Label("Method")
+    public String method;
+
+    @Label("Invoked As")
+    @Description("Name the call sites use, this and super for constructors invoked from other constructors")
+    public String invokedAs;
+
+    @Label("Rewritten Call Sites")
+    public int rewrittenCallSites;
+
+    @Label("Iterations")
+    @Description("Number of worklist iterations that rewrote at least one call site of the method")
+    public int iterations;
+}
@@ -0,0 +1,22 @@
+package org.projectparams.annotationprocessing.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event of a processing phase, see {@link org.projectparams.annotationprocessing.utils.ProcessingReport}
+ */
+@Name("org.projectparams.Phase")
+@Label("Processing Phase")
+@Category("ProjectParams")
+@Enabled(false)
+@StackTrace(false)
+public class PhaseEvent extends jdk.jfr.Event {
+    @Label("Phase")
+    @Description("Name of the phase, the same as in the processing report")
+    public String phase;
+}
@@ -0,0 +1,23 @@
+package org.projectparams.annotationprocessing.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event of an annotation processing round
+ */
+@Name("org.projectparams.Round")
+@Label("Processing Round")
+@Category("ProjectParams")
+@Enabled(false)
+@StackTrace(false)
+public class RoundEvent extends jdk.jfr.Event {
+    @Label("Round")
+    public int round;
+
+    @Label("Root Elements")
+    public int rootElements;
+}
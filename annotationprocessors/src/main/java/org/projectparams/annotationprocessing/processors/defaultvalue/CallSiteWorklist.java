@@ -0,0 +1,153 @@
+package org.projectparams.annotationprocessing.processors.defaultvalue;
+
+import com.sun.source.util.TreePath;
+import com.sun.tools.javac.tree.JCTree;
+import com.sun.tools.javac.tree.TreeMaker;
+import org.projectparams.annotationprocessing.astcommons.PathUtils;
+import org.projectparams.annotationprocessing.astcommons.TypeUtils;
+import org.projectparams.annotationprocessing.astcommons.invocabletree.CallSiteIndex;
+import org.projectparams.annotationprocessing.astcommons.invocabletree.InvocableTree;
+import org.projectparams.annotationprocessing.astcommons.invocabletree.MethodInvocableTree;
+import org.projectparams.annotationprocessing.astcommons.invocabletree.NewClassInvocableTree;
+import org.projectparams.annotationprocessing.utils.ProcessingLog;
+import org.projectparams.annotationprocessing.utils.ProcessingReport;
+
+import javax.lang.model.type.TypeKind;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Call sites waiting to be matched against the invocable pool.
+ * <p>
+ * When a call site is fixed, only the call sites whose owner or argument types depend on it are queued again:
+ * the invocation selecting a member of it, the invocation taking it as an argument,
+ * the {@code new} expression using it as an enclosing instance
+ * and the call sites using the {@code var} declaration it initializes
+ */
+public class CallSiteWorklist {
+    private final Deque<InvocableTree> queue = new ArrayDeque<>();
+    private final Set<InvocableTree> queued = new HashSet<>();
+    private final TreeMaker treeMaker;
+
+    public CallSiteWorklist(TreeMaker treeMaker) {
+        this.treeMaker = treeMaker;
+    }
+
+    /**
+     * @return true if the call site was not queued yet
+     */
+    public boolean add(InvocableTree callSite) {
+        if (queued.add(callSite)) {
+            queue.add(callSite);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Queues the call site again after its receiver, arguments or a variable it uses changed,
+     * so its owner is resolved again too
+     */
+    private void requeue(InvocableTree callSite) {
+        TypeUtils.invalidateOwnerSymbol(callSite.getWrapped());
+        if (add(callSite)) {
+            ProcessingReport.increment(ProcessingReport.Counter.REQUEUED_CALL_SITES);
+        }
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    public InvocableTree poll() {
+        var callSite = queue.poll();
+        queued.remove(callSite);
+        return callSite;
+    }
+
+    public void addDependents(InvocableTree fixed) {
+        var wrapped = fixed.getWrapped();
+        var parentPath = fixed.getPath().getParentPath();
+        switch (parentPath.getLeaf()) {
+            case JCTree.JCFieldAccess fieldAccess when fieldAccess.selected == wrapped -> {
+                var selectingPath = parentPath.getParentPath();
+                if (selectingPath.getLeaf() instanceof JCTree.JCMethodInvocation invocation
+                        && invocation.meth == fieldAccess) {
+                    requeue(new MethodInvocableTree(invocation, selectingPath));
+                }
+            }
+            case JCTree.JCVariableDecl variableDecl when variableDecl.init == wrapped ->
+                    fixVarType(variableDecl, parentPath, fixed);
+            case JCTree.JCNewClass newClass when newClass.encl == wrapped -> {
+                TypeUtils.addConstructorOwnerTypeName(newClass, fixed.getReturnType() + "." + getOwnerSimpleName(newClass));
+                requeue(new NewClassInvocableTree(newClass, parentPath));
+            }
+            case JCTree.JCNewClass newClass when newClass.args.contains(wrapped) -> {
+                ((JCTree.JCExpression) wrapped).type = fixed.getReturnType();
+                requeue(new NewClassInvocableTree(newClass, parentPath));
+            }
+            case JCTree.JCMethodInvocation invocation when invocation.args.contains(wrapped) ->
+                    requeue(new MethodInvocableTree(invocation, parentPath));
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Fix type of variable declared with var that has an error type
+     * and queue the call sites in the same method that use it
+     */
+    private void fixVarType(JCTree.JCVariableDecl variableDecl, TreePath variablePath, InvocableTree fixed) {
+        if (TypeUtils.getTypeKind(variablePath) != TypeKind.ERROR) {
+            return;
+        }
+        ProcessingLog.debug(() -> "Error var initializer: " + variableDecl.init);
+        variableDecl.vartype = treeMaker.Type(fixed.getReturnType());
+        variableDecl.type = variableDecl.vartype.type;
+        ProcessingLog.debug(() -> "Fixed var type: " + variableDecl.type);
+
+        var name = variableDecl.getName().toString();
+        for (var callSite : CallSiteIndex.of(getVariableScope(variablePath)).getAll()) {
+            switch (callSite.getWrapped()) {
+                case JCTree.JCMethodInvocation invocation when invocation.meth instanceof JCTree.JCFieldAccess fieldAccess
+                        && isVariable(fieldAccess.selected, name) -> requeue(callSite);
+                case JCTree.JCNewClass newClass when isVariable(newClass.encl, name) -> {
+                    TypeUtils.addConstructorOwnerTypeName(newClass,
+                            variableDecl.type + "." + getOwnerSimpleName(newClass));
+                    requeue(callSite);
+                }
+                case JCTree.JCNewClass newClass when newClass.args.stream().anyMatch(arg -> isVariable(arg, name)) -> {
+                    newClass.args.stream().filter(arg -> isVariable(arg, name))
+                            .forEach(arg -> arg.type = variableDecl.type);
+                    requeue(callSite);
+                }
+                default -> {
+                }
+            }
+        }
+    }
+
+    // for some reason variable type changes doesn't propagate to NewClassTree nodes, including their identifiers,
+    // so the owner of constructor with fixed enclosing expression has to be set manually
+    private static String getOwnerSimpleName(JCTree.JCNewClass newClass) {
+        return newClass.getIdentifier().toString().replaceAll(".?<.*>.?", "");
+    }
+
+    private static boolean isVariable(JCTree.JCExpression expression, String name) {
+        return expression instanceof JCTree.JCIdent ident && ident.getName().contentEquals(name);
+    }
+
+    private static TreePath getVariableScope(TreePath variablePath) {
+        try {
+            return PathUtils.getEnclosingMethodPath(variablePath);
+        } catch (IllegalArgumentException e) {
+            return PathUtils.getEnclosingClassPath(variablePath);
+        }
+    }
+}
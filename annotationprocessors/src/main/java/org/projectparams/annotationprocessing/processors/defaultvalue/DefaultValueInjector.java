@@ -10,10 +10,13 @@ import org.projectparams.annotationprocessing.astcommons.TypeUtils;
 import org.projectparams.annotationprocessing.astcommons.context.ClassContext;
 import org.projectparams.annotationprocessing.astcommons.parsing.expressions.CreateExpressionParams;
 import org.projectparams.annotationprocessing.astcommons.parsing.expressions.ExpressionFactory;
+import org.projectparams.annotationprocessing.astcommons.parsing.expressions.ExpressionTemplates;
 import org.projectparams.annotationprocessing.astcommons.parsing.expressions.literal.LiteralExpressionType;
 import org.projectparams.annotationprocessing.astcommons.parsing.utils.ExpressionMaker;
+import org.projectparams.annotationprocessing.events.InjectionEvent;
+import org.projectparams.annotationprocessing.utils.ProcessingLog;
 
-import javax.annotation.processing.Messager;
+import javax.lang.model.element.Element;
 import javax.lang.model.element.ExecutableElement;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -21,7 +24,7 @@ import java.util.Collections;
 import java.util.List;
 
 public class DefaultValueInjector {
-    public static Messager messager;
+    private static final ExpressionTemplates templates = new ExpressionTemplates(DefaultValueInjector::parseDefaultValue);
     private final ExecutableElement invocable;
     private final InvocableInfo invocableInfo;
 
@@ -30,6 +33,12 @@ public class DefaultValueInjector {
         this.invocable = invocableInfo.method();
     }
 
+    private static JCTree.JCExpression parseDefaultValue(CreateExpressionParams createParams, Element declaringClass) {
+        var parsed = ExpressionFactory.createExpression(createParams);
+        parsed.convertIdentsToQualified(ClassContext.of(PathUtils.getElementPath(declaringClass)));
+        return parsed.toJcExpression();
+    }
+
     private static String getVarName(StatementTree statement) {
         return ((JCTree.JCIdent) ((JCTree.JCAssign) ((JCTree.JCExpressionStatement) statement).expr).lhs).name.toString();
     }
@@ -39,6 +48,8 @@ public class DefaultValueInjector {
     }
 
     public void inject() {
+        var event = new InjectionEvent();
+        event.begin();
         var statementsToInject = new ArrayList<StatementTree>();
         for (var param : invocableInfo.parameters()) {
             var defaultValue = param.defaultValue();
@@ -49,15 +60,14 @@ public class DefaultValueInjector {
                     || TypeUtils.isPrimitiveOrBoxedType(defaultValue.type())) {
                 continue;
             }
-            var expression = ExpressionFactory.createExpression(
+            var expression = templates.get(
                     new CreateExpressionParams(
                             defaultValue.expression(),
                             TypeUtils.getUnboxedTypeTag(defaultValue.type()),
                             PathUtils.getElementPath(invocable)
-                    ));
-            expression.convertIdentsToQualified(ClassContext.of(PathUtils
-                    .getElementPath(invocableInfo.method().getEnclosingElement())));
-            statementsToInject.add(assignToVar(wrapInNonNullElse(expression.toJcExpression(), param.name()), param.name()));
+                    ),
+                    invocableInfo.method().getEnclosingElement());
+            statementsToInject.add(assignToVar(wrapInNonNullElse(expression, param.name()), param.name()));
         }
         var element = PathUtils.getElementPath(invocable).getLeaf();
         if (element instanceof MethodTree methodTree) {
@@ -65,6 +75,11 @@ public class DefaultValueInjector {
         } else {
             throw new IllegalStateException("Unexpected element type: " + element.getClass());
         }
+        if (event.shouldCommit()) {
+            event.method = invocableInfo.signature();
+            event.injectedStatements = statementsToInject.size();
+            event.commit();
+        }
 
     }
 
@@ -112,7 +127,7 @@ public class DefaultValueInjector {
         }
         var asJC = (JCTree.JCMethodDecl) methodTree;
         asJC.body = ExpressionMaker.makeBlock(newStatements.stream().map(JCTree.JCStatement.class::cast).toList());
-        messager.printMessage(javax.tools.Diagnostic.Kind.NOTE, "Modified tree: " + asJC);
+        ProcessingLog.debug(() -> "Modified tree: " + asJC);
     }
 
     private StatementTree assignToVar(JCTree.JCExpression expression, String varName) {
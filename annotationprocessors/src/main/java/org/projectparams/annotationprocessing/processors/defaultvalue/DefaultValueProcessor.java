@@ -1,77 +1,178 @@
 package org.projectparams.annotationprocessing.processors.defaultvalue;
 
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.util.TreePath;
 import com.sun.source.util.Trees;
 import com.sun.tools.javac.tree.TreeMaker;
+import org.projectparams.annotationprocessing.astcommons.CompilationUnitAnalyzer;
+import org.projectparams.annotationprocessing.astcommons.CompilationUnitSummary;
+import org.projectparams.annotationprocessing.astcommons.PackageTree;
+import org.projectparams.annotationprocessing.astcommons.invocabletree.CallSiteIndex;
 import org.projectparams.annotationprocessing.astcommons.invocabletree.InvocableTree;
-import org.projectparams.annotationprocessing.astcommons.visitors.CleanupVisitor;
 import org.projectparams.annotationprocessing.astcommons.visitors.PostModificationAttributionVisitor;
 import org.projectparams.annotationprocessing.astcommons.visitors.ReevaluateTreePositionsVisitor;
 import org.projectparams.annotationprocessing.processors.GlobalAnnotationProcessor;
 import org.projectparams.annotationprocessing.processors.defaultvalue.argumentsuppliers.DefaultArgumentSupplier;
 import org.projectparams.annotationprocessing.processors.defaultvalue.visitors.MemberRefsToLambdasVisitor;
 import org.projectparams.annotationprocessing.processors.defaultvalue.visitors.MethodCallModifierVisitor;
+import org.projectparams.annotationprocessing.utils.ProcessingLog;
+import org.projectparams.annotationprocessing.utils.ProcessingReport;
+import org.projectparams.annotationprocessing.utils.ProcessorOptions;
 import org.projectparams.annotations.DefaultValue;
 
 import javax.annotation.processing.Messager;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.PackageElement;
-import javax.tools.Diagnostic;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class DefaultValueProcessor extends GlobalAnnotationProcessor<DefaultValue> {
 
-    public DefaultValueProcessor(Trees trees, TreeMaker treeMaker, PackageElement rootPackage, Messager messager) {
+    private final ProcessorOptions options;
+
+    public DefaultValueProcessor(Trees trees,
+                                 TreeMaker treeMaker,
+                                 PackageElement rootPackage,
+                                 Messager messager,
+                                 ProcessorOptions options) {
         super(trees, treeMaker, rootPackage, messager);
+        this.options = options;
     }
 
     @Override
     public void process(Set<Element> elements) {
-        var methods = elements.stream().map(el -> (ExecutableElement) el.getEnclosingElement())
-                .collect(Collectors.toUnmodifiableSet());
-        var argumentSupplier = new DefaultArgumentSupplier();
-        var fixedMethodsInIteration = new HashSet<InvocableTree>();
-        var allFixedMethods = new HashSet<InvocableTree>();
+        fixCallSites(packageTree, createInvocablePool(elements));
+    }
 
+    /**
+     * Creates the pool of invocables declaring the given parameters with default values
+     * and injects the default values into their bodies
+     */
+    public InvocableInfoPool createInvocablePool(Set<Element> elements) {
         var invocablePool =
                 InvocableInfoPool.of(
-                        methods.stream().flatMap(method ->
-                                InvocableInfo.from(method).stream()).toArray(InvocableInfo[]::new));
+                        elements.stream().map(el -> (ExecutableElement) el.getEnclosingElement())
+                                .distinct()
+                                .flatMap(method -> InvocableInfo.from(method).stream())
+                                .toArray(InvocableInfo[]::new));
 
-        invocablePool.forEach(methodInfo -> {
+        ProcessingReport.phase("injection", () -> invocablePool.forEach(methodInfo -> {
             if (!methodInfo.name().matches("(this)|(super)")) {
                 new DefaultValueInjector(methodInfo).inject();
             }
-        });
-
-        var reevaluateTreePositionsVisitor = new ReevaluateTreePositionsVisitor();
-        packageTree.accept(reevaluateTreePositionsVisitor, null);
-
-        messager.printMessage(Diagnostic.Kind.NOTE, "Invocable pool: " + invocablePool + "\n\n\nStarting");
-
-        do {
-            allFixedMethods.addAll(fixedMethodsInIteration);
-            fixedMethodsInIteration.clear();
-            invocablePool.forEach(methodInfo -> {
-                var memberRefsToLambdasVisitor = new MemberRefsToLambdasVisitor(trees, messager);
-                packageTree.accept(memberRefsToLambdasVisitor, null);
-
-                var modifier = new MethodCallModifierVisitor(fixedMethodsInIteration,
-                        trees,
-                        argumentSupplier,
-                        messager,
-                        allFixedMethods);
-                packageTree.accept(modifier, methodInfo);
-
-                var cleanupVisitor = new CleanupVisitor(allFixedMethods, trees, messager, treeMaker);
-                packageTree.accept(cleanupVisitor, null);
-            });
-        } while (!fixedMethodsInIteration.isEmpty());
-
-        var postModificationAttributionVisitor = new PostModificationAttributionVisitor(treeMaker, trees, messager);
-        packageTree.accept(postModificationAttributionVisitor, null);
+        }));
+        return invocablePool;
+    }
+
+    /**
+     * Fixes call sites of the pooled invocables in the given tree
+     */
+    public void fixCallSites(PackageTree tree, InvocableInfoPool invocablePool) {
+        var argumentSupplier = new DefaultArgumentSupplier();
+        var fixedMethods = new HashSet<InvocableTree>();
+
+        try (var analyzer = new CompilationUnitAnalyzer(options.parallelism())) {
+            var relevantTree = ProcessingReport.phase("relevance",
+                    () -> getRelevantTree(tree, invocablePool, analyzer));
+
+            ProcessingReport.phase("positionReevaluation",
+                    () -> relevantTree.accept(new ReevaluateTreePositionsVisitor(), null));
+
+            ProcessingLog.debug(() -> "Invocable pool: " + invocablePool);
+
+            // done once before fixing, so lambdas created here are indexed as regular call sites
+            ProcessingReport.phase("memberReferences", () -> relevantTree.accept(
+                    new MemberRefsToLambdasVisitor(invocablePool.getNames(), trees, messager), null));
+
+            // call sites are collected per compilation unit in parallel,
+            // matching and rewriting them needs javac symbols and stays on this thread
+            var modifier = new MethodCallModifierVisitor(fixedMethods, trees, argumentSupplier, messager);
+            var worklist = new CallSiteWorklist(treeMaker);
+            ProcessingReport.phase("callSiteIndexing", () -> analyzer.analyze(relevantTree.getCompilationUnits(),
+                            unit -> getCandidateCallSites(unit, invocablePool))
+                    .forEach(callSites -> callSites.forEach(worklist::add)));
+            // each iteration fixes the call sites queued by the previous one,
+            // which is the same order as polling the queue until it is empty
+            var rewriteEvents = new RewriteEvents();
+            for (var iteration = 0; !worklist.isEmpty(); iteration++) {
+                var queuedCallSites = worklist.size();
+                var currentIteration = iteration;
+                ProcessingReport.phase("iteration" + iteration, () -> {
+                    for (var i = 0; i < queuedCallSites; i++) {
+                        var fixedBy = fixCallSite(worklist.poll(), invocablePool, modifier, worklist);
+                        rewriteEvents.recordRewrite(fixedBy, currentIteration);
+                    }
+                });
+            }
+            rewriteEvents.commit(invocablePool);
+
+            ProcessingReport.phase("postModificationAttribution", () -> relevantTree.accept(
+                    new PostModificationAttributionVisitor(treeMaker, trees, messager), null));
+        }
+    }
+
+    /**
+     * @return the invocable the call site was fixed for, or null if it doesn't invoke any of the pooled ones
+     */
+    private static InvocableInfo fixCallSite(InvocableTree callSite,
+                                             InvocableInfoPool invocablePool,
+                                             MethodCallModifierVisitor modifier,
+                                             CallSiteWorklist worklist) {
+        for (var methodInfo : invocablePool.getCandidates(callSite.getSelfName(), callSite.getArguments().size())) {
+            if (modifier.visitCallSite(callSite, methodInfo)) {
+                worklist.addDependents(callSite);
+                return methodInfo;
+            }
+        }
+        return null;
+    }
+
+    private static List<InvocableTree> getCandidateCallSites(CompilationUnitTree compilationUnit,
+                                                             InvocableInfoPool invocablePool) {
+        return CallSiteIndex.of(new TreePath(compilationUnit)).getAll().stream()
+                .filter(callSite -> !invocablePool.getCandidates(
+                        callSite.getSelfName(), callSite.getArguments().size()).isEmpty())
+                .toList();
+    }
+
+    /**
+     * Skips compilation units that neither declare a pooled invocable
+     * nor mention any of the pooled names in invocations, member references or constructed types
+     */
+    private PackageTree getRelevantTree(PackageTree tree,
+                                        InvocableInfoPool invocablePool,
+                                        CompilationUnitAnalyzer analyzer) {
+        var invokedNames = new HashSet<>(invocablePool.getNames());
+        // every class invokes this(...) or super(...), those are only matched inside their possible owners
+        invokedNames.removeAll(Set.of("this", "super"));
+        var constructedTypeNames = invocablePool.getConstructedTypeNames();
+        var declaringUnits = Stream.<Element>concat(
+                        invocablePool.getMethods().stream(),
+                        invocablePool.getByName("super").stream()
+                                .flatMap(superInvocable -> superInvocable.possibleOwners().stream()))
+                .map(trees::getPath)
+                // trees of classes already generated by javac are released when processing units one by one
+                .filter(Objects::nonNull)
+                .map(TreePath::getCompilationUnit)
+                .collect(Collectors.toSet());
+        var allUnits = tree.getCompilationUnits();
+        var summaries = analyzer.analyze(allUnits, CompilationUnitSummary::of);
+        var relevantUnits = new HashSet<CompilationUnitTree>();
+        for (var i = 0; i < allUnits.size(); i++) {
+            if (declaringUnits.contains(allUnits.get(i))
+                    || summaries.get(i).mentionsAny(invokedNames, constructedTypeNames)) {
+                relevantUnits.add(allUnits.get(i));
+            }
+        }
+        ProcessingReport.add(ProcessingReport.Counter.SKIPPED_COMPILATION_UNITS, allUnits.size() - relevantUnits.size());
+        ProcessingLog.info(() -> "Skipped " + (allUnits.size() - relevantUnits.size())
+                + " of " + allUnits.size() + " compilation units");
+        return tree.filter(relevantUnits::contains);
     }
 
     @Override
@@ -1,39 +1,47 @@
 package org.projectparams.annotationprocessing.processors.defaultvalue;
 
-import com.sun.source.tree.ExpressionTree;
+import com.sun.tools.javac.code.Symbol;
 import com.sun.tools.javac.code.Type;
 import com.sun.tools.javac.tree.JCTree;
 import org.projectparams.annotationprocessing.astcommons.TypeUtils;
 import org.projectparams.annotationprocessing.astcommons.invocabletree.InvocableTree;
 import org.projectparams.annotationprocessing.utils.ElementUtils;
+import org.projectparams.annotationprocessing.utils.ProcessingReport;
 import org.projectparams.annotations.DefaultValue;
 
-import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
-import java.util.stream.Stream;
 
+/**
+ * Invocable with default values and the classes its call sites may be invoked on.
+ * <p>
+ * Owners are compared by identity with the symbols of call site owners,
+ * qualified names are only used in messages
+ *
+ * @param returnType type set to the fixed call sites
+ */
 public record InvocableInfo(
-        ExecutableElement method,
+        Symbol.MethodSymbol method,
         String name,
-        Set<String> possibleOwnerQualifiedNames,
-        String returnTypeQualifiedName,
+        Set<TypeElement> possibleOwners,
+        Type returnType,
         List<Parameter> parameters) {
 
     private static final String NULL = "superSecretDefaultValuePlaceholder";
 
     public static List<InvocableInfo> from(ExecutableElement method) {
         var mainInvocable = new InvocableInfo(
-                method,
+                (Symbol.MethodSymbol) method,
                 method.getSimpleName().toString(),
                 method.getSimpleName().toString().equals("<init>") ?
-                        Set.of(((TypeElement) method.getEnclosingElement()).getQualifiedName().toString())
-                        : getPossibleOwnerQualifiedNames(method),
-                getReturnTypeQualifiedName(method),
+                        Set.of((TypeElement) method.getEnclosingElement())
+                        : getPossibleOwners(method),
+                getReturnType(method),
                 method.getParameters().stream().map(InvocableInfo::toParameter).toList());
         var result = new ArrayList<>(List.of(mainInvocable));
         if (method.getSimpleName().toString().equals("<init>")) {
@@ -58,42 +66,46 @@ public record InvocableInfo(
     }
 
     private static void addThisAndSuperInvocable(ArrayList<InvocableInfo> result, ExecutableElement method, InvocableInfo mainInvocable) {
-        var directChildren = ElementUtils.getAllChildren((TypeElement) method.getEnclosingElement()).stream()
-                .filter(child -> child.getSuperclass() != null
-                        && child.getSuperclass().toString().equals(method.getEnclosingElement().asType().toString()))
-                .collect(Collectors.toSet());
-        for (var child : directChildren) {
+        var classElement = (TypeElement) method.getEnclosingElement();
+        // only subclasses invoke the constructor with super(...), implemented interfaces have none
+        var directSubclasses = ElementUtils.getClassHierarchy(classElement).getDirectChildren(classElement).stream()
+                .filter(child -> child.getSuperclass() instanceof DeclaredType superclass
+                        && superclass.asElement().equals(classElement))
+                .toList();
+        for (var child : directSubclasses) {
             result.add(mainInvocable.withName("super")
-                    .withPossibleOwnerQualifiedNames(Set.of(child.getQualifiedName().toString())));
+                    .withPossibleOwners(Set.of(child)));
         }
         result.add(mainInvocable.withName("this"));
     }
 
-    private static Set<String> getPossibleOwnerQualifiedNames(ExecutableElement method) {
+    private static Set<TypeElement> getPossibleOwners(ExecutableElement method) {
         var classElement = (TypeElement) method.getEnclosingElement();
-        var result = new HashSet<>(Set.of(classElement.getQualifiedName().toString()));
+        // symbols don't override equals, so the set compares them by identity
+        var result = new LinkedHashSet<>(Set.of(classElement));
 
-        var allChildren = new ArrayList<>(ElementUtils.getAllChildren(classElement));
+        var hierarchy = ElementUtils.getClassHierarchy(classElement);
 
-        var overridingSubclasses = allChildren.stream()
-                .filter(child -> child.getEnclosedElements().stream()
-                        .filter(e -> e.getKind() == ElementKind.METHOD)
-                        .anyMatch(e -> isOverride((ExecutableElement) e, method)))
+        // subclasses overriding the method, and their own subclasses, invoke the override instead
+        var overridingSubclasses = hierarchy.getDescendants(classElement).stream()
+                .filter(child -> hierarchy.getDeclaredMethods(child, method.getSimpleName()).stream()
+                        .anyMatch(childMethod -> ElementUtils.overrides(childMethod, method, child)))
                 .collect(Collectors.toSet());
 
-        allChildren.removeAll(overridingSubclasses.stream().flatMap(child ->
-                Stream.concat(ElementUtils.getAllChildren(child).stream(), Stream.of(child))).toList());
-
-        result.addAll(allChildren.stream().map(el -> el.getQualifiedName().toString()).toList());
+        result.addAll(hierarchy.getDescendantsExcluding(classElement, overridingSubclasses));
 
         return result;
     }
 
-    private static boolean isOverride(ExecutableElement method, ExecutableElement superMethod) {
-        return method.getSimpleName().equals(superMethod.getSimpleName())
-                && method.getParameters().stream().map(VariableElement::asType).toList().equals(
-                superMethod.getParameters().stream().map(VariableElement::asType).toList())
-                && method.getReturnType().equals(superMethod.getReturnType());
+    /**
+     * @return declared return type of the method, type of the declaring class for constructors,
+     * type variables and type arguments are kept
+     */
+    private static Type getReturnType(ExecutableElement method) {
+        if (method.getSimpleName().toString().equals("<init>")) {
+            return (Type) method.getEnclosingElement().asType();
+        }
+        return (Type) method.getReturnType();
     }
 
     private static String getReturnTypeQualifiedName(ExecutableElement method) {
@@ -109,32 +121,37 @@ public record InvocableInfo(
         return new InvocableInfo(
                 method,
                 name,
-                possibleOwnerQualifiedNames,
-                returnTypeQualifiedName,
+                possibleOwners,
+                returnType,
                 parameters);
     }
 
-    public InvocableInfo withPossibleOwnerQualifiedNames(Set<String> possibleOwnerQualifiedNames) {
+    public InvocableInfo withPossibleOwners(Set<TypeElement> possibleOwners) {
         return new InvocableInfo(
                 method,
                 name,
-                possibleOwnerQualifiedNames,
-                returnTypeQualifiedName,
+                possibleOwners,
+                returnType,
                 parameters);
     }
 
     public boolean matches(InvocableTree invocation) {
+        ProcessingReport.increment(ProcessingReport.Counter.MATCHES_CALLS);
+        // owner and argument types are only known after the enclosing class is attributed,
+        // which otherwise only happens as a side effect of resolving a member select owner
+        TypeUtils.attributeEnclosingClass(invocation.getPath());
         var methodName = invocation.getSelfName();
-        var ownerQualifiedName = invocation.getOwnerTypeQualifiedName();
-        if (ownerQualifiedName == null) {
+        var owner = invocation.getOwnerSymbol();
+        if (owner == null) {
             return false;
         }
-        return possibleOwnerQualifiedNames.contains(ownerQualifiedName)
+        return possibleOwners.contains(owner)
                 && methodName.equals(name)
-                && doesExistingArgsMatch(invocation.getArguments());
+                && doesExistingArgsMatch(invocation);
     }
 
-    private boolean doesExistingArgsMatch(List<? extends ExpressionTree> args) {
+    private boolean doesExistingArgsMatch(InvocableTree invocation) {
+        var args = invocation.getArguments();
         var currentArgs = args.stream().map(arg -> {
             if (((JCTree.JCExpression) arg).type == null) {
                 return Type.noType;
@@ -149,25 +166,55 @@ public record InvocableInfo(
         return IntStream.range(0, argTypes.length).allMatch(i ->
                 TypeUtils.isAssignable(
                         TypeUtils.getBoxedType(argTypes[i]),
-                        TypeUtils.getBoxedType(parameters.get(i).type)));
+                        parameters.get(i).boxedType));
     }
 
+    /**
+     * @return the least number of arguments a call site must pass,
+     * parameters after the last one without a default value are filled in by the processor
+     */
+    public int requiredArgumentCount() {
+        for (var i = parameters.size() - 1; i >= 0; i--) {
+            if (parameters.get(i).defaultValue() == null) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return qualified name of the declaring class followed by the name and parameter types of the method
+     */
+    public String signature() {
+        return ((TypeElement) method.getEnclosingElement()).getQualifiedName() + "." + method;
+    }
+
+    @Override
     public String toString() {
-        return String.join("|", possibleOwnerQualifiedNames) + "." + name + "(" + parameters.toString()
-                .replaceAll("[\\[\\]]", "") + "): " + returnTypeQualifiedName;
+        return possibleOwners.stream().map(owner -> owner.getQualifiedName().toString())
+                .collect(Collectors.joining("|")) + "." + name + "(" + parameters.toString()
+                .replaceAll("[\\[\\]]", "") + "): " + getReturnTypeQualifiedName(method);
     }
 
+    /**
+     * Symbols hash by identity and names cache their hash, so nothing is computed per call,
+     * the owners are left out as only super(...) invocables differ in them
+     */
     @Override
     public int hashCode() {
-        return toString().hashCode();
+        return 31 * method.hashCode() + name.hashCode();
     }
 
+    /**
+     * Parameters and the return type are derived from the method, so only the owners are compared besides it,
+     * they differ between the super(...) invocables of the same constructor
+     */
     @Override
     public boolean equals(Object obj) {
         if (obj instanceof InvocableInfo invocable) {
-            return parameters.equals(invocable.parameters)
-                    && name.equals(invocable.name) && returnTypeQualifiedName.equals(invocable.returnTypeQualifiedName)
-                    && (Objects.equals(possibleOwnerQualifiedNames, invocable.possibleOwnerQualifiedNames));
+            return method == invocable.method
+                    && name.equals(invocable.name)
+                    && possibleOwners.equals(invocable.possibleOwners);
         } else {
             return false;
         }
@@ -180,11 +227,19 @@ public record InvocableInfo(
         public static final Expression NULL = new Expression(Type.noType, null);
     }
 
+    /**
+     * @param boxedType boxed type of the parameter, computed once as every matched call site needs it
+     */
     public record Parameter(
             String name,
             Type type,
-            Expression defaultValue
+            Expression defaultValue,
+            Type boxedType
     ) {
+        public Parameter(String name, Type type, Expression defaultValue) {
+            this(name, type, defaultValue, TypeUtils.getBoxedType(type));
+        }
+
         @Override
         public String toString() {
             return name + (defaultValue != null ? "=" + defaultValue.expression() : "") + " : " + type;
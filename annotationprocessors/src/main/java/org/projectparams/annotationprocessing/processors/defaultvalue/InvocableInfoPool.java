@@ -1,11 +1,27 @@
 package org.projectparams.annotationprocessing.processors.defaultvalue;
 
+import javax.lang.model.element.ExecutableElement;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
+/**
+ * Invocables with default values, indexed by name and by the numbers of arguments their call sites may pass
+ */
 public class InvocableInfoPool {
     private final List<InvocableInfo> invocableInfos = new ArrayList<>();
+    private final Map<String, List<InvocableInfo>> byName = new LinkedHashMap<>();
+    private final Map<Arity, List<InvocableInfo>> byArity = new HashMap<>();
+
+    private record Arity(String name, int argumentCount) {
+    }
 
     public static InvocableInfoPool of(InvocableInfo... invocableInfos) {
         var pool = new InvocableInfoPool();
@@ -15,10 +31,47 @@ public class InvocableInfoPool {
 
     public void add(InvocableInfo invocableInfo) {
         invocableInfos.add(invocableInfo);
+        byName.computeIfAbsent(invocableInfo.name(), name -> new ArrayList<>()).add(invocableInfo);
+        // a call site may omit any number of trailing parameters with default values
+        for (var argumentCount = invocableInfo.requiredArgumentCount();
+             argumentCount <= invocableInfo.parameters().size();
+             argumentCount++) {
+            byArity.computeIfAbsent(new Arity(invocableInfo.name(), argumentCount), arity -> new ArrayList<>())
+                    .add(invocableInfo);
+        }
     }
 
     public void addAll(List<InvocableInfo> invocableInfos) {
-        this.invocableInfos.addAll(invocableInfos);
+        invocableInfos.forEach(this::add);
+    }
+
+    public List<InvocableInfo> getByName(String name) {
+        return Collections.unmodifiableList(byName.getOrDefault(name, List.of()));
+    }
+
+    /**
+     * @return invocables a call site with the given name and number of arguments may be fixed for,
+     * in the order they were added to the pool
+     */
+    public List<InvocableInfo> getCandidates(String name, int argumentCount) {
+        return Collections.unmodifiableList(byArity.getOrDefault(new Arity(name, argumentCount), List.of()));
+    }
+
+    public Set<ExecutableElement> getMethods() {
+        return invocableInfos.stream().map(InvocableInfo::method).collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    public Set<String> getNames() {
+        return Collections.unmodifiableSet(byName.keySet());
+    }
+
+    /**
+     * @return simple names of classes whose constructors are in the pool
+     */
+    public Set<String> getConstructedTypeNames() {
+        return getByName("<init>").stream()
+                .map(invocableInfo -> invocableInfo.method().getEnclosingElement().getSimpleName().toString())
+                .collect(Collectors.toUnmodifiableSet());
     }
 
     public void forEach(Consumer<InvocableInfo> consumer) {
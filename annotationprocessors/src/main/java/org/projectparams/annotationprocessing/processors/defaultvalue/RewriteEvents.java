@@ -0,0 +1,59 @@
+package org.projectparams.annotationprocessing.processors.defaultvalue;
+
+import org.projectparams.annotationprocessing.events.InvocableRewritesEvent;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Counts rewritten call sites per invocable for {@link InvocableRewritesEvent}s.
+ * <p>
+ * Nothing is counted unless the event is enabled in a Flight Recorder session when fixing starts
+ */
+class RewriteEvents {
+    // pooled invocables are compared by identity, their equals and hashCode are too slow for every rewrite
+    private final Map<InvocableInfo, Rewrites> rewrites;
+
+    RewriteEvents() {
+        this.rewrites = new InvocableRewritesEvent().isEnabled() ? new IdentityHashMap<>() : null;
+    }
+
+    private static class Rewrites {
+        private int callSites = 0;
+        private int iterations = 0;
+        private int lastIteration = -1;
+    }
+
+    /**
+     * @param fixedBy invocable a call site was fixed for, null if it wasn't fixed
+     */
+    void recordRewrite(InvocableInfo fixedBy, int iteration) {
+        if (rewrites == null || fixedBy == null) {
+            return;
+        }
+        var invocableRewrites = rewrites.computeIfAbsent(fixedBy, invocable -> new Rewrites());
+        invocableRewrites.callSites++;
+        if (invocableRewrites.lastIteration != iteration) {
+            invocableRewrites.lastIteration = iteration;
+            invocableRewrites.iterations++;
+        }
+    }
+
+    /**
+     * Commits an event for each invocable of the pool, including the ones without rewritten call sites
+     */
+    void commit(InvocableInfoPool invocablePool) {
+        if (rewrites == null) {
+            return;
+        }
+        invocablePool.forEach(invocable -> {
+            var invocableRewrites = rewrites.getOrDefault(invocable, new Rewrites());
+            var event = new InvocableRewritesEvent();
+            event.method = invocable.signature();
+            event.invokedAs = invocable.name();
+            event.rewrittenCallSites = invocableRewrites.callSites;
+            event.iterations = invocableRewrites.iterations;
+            event.commit();
+        });
+    }
+}
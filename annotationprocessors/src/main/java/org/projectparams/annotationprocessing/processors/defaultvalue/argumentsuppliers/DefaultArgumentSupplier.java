@@ -6,14 +6,17 @@ import com.sun.tools.javac.util.List;
 import org.projectparams.annotationprocessing.astcommons.TypeUtils;
 import org.projectparams.annotationprocessing.astcommons.invocabletree.InvocableTree;
 import org.projectparams.annotationprocessing.astcommons.parsing.expressions.CreateExpressionParams;
+import org.projectparams.annotationprocessing.astcommons.parsing.expressions.ExpressionTemplates;
 import org.projectparams.annotationprocessing.astcommons.parsing.expressions.literal.LiteralExpression;
 import org.projectparams.annotationprocessing.astcommons.parsing.expressions.literal.LiteralExpressionType;
 import org.projectparams.annotationprocessing.exceptions.UnsupportedSignatureException;
 import org.projectparams.annotationprocessing.processors.defaultvalue.InvocableInfo;
 
+import javax.lang.model.element.Element;
 import java.util.ArrayList;
 
 public class DefaultArgumentSupplier implements ArgumentSupplier {
+    private static final ExpressionTemplates templates = new ExpressionTemplates(DefaultArgumentSupplier::parseLiteral);
 
     @Override
     public List<JCTree.JCExpression> getModifiedArguments(InvocableTree invocation,
@@ -30,18 +33,23 @@ public class DefaultArgumentSupplier implements ArgumentSupplier {
                 args.add(LiteralExpression.NULL.toJcExpression());
                 continue;
             }
-            try {
-                args.add(LiteralExpressionType.getInstance().parse(
-                        new CreateExpressionParams(
-                                defaultValue.expression(),
-                                TypeUtils.getUnboxedTypeTag(defaultValue.type()),
-                                path
-                        )).toJcExpression());
-            } catch (Exception e) {
-                args.add(LiteralExpression.NULL.toJcExpression());
-            }
+            args.add(templates.get(
+                    new CreateExpressionParams(
+                            defaultValue.expression(),
+                            TypeUtils.getUnboxedTypeTag(defaultValue.type()),
+                            path
+                    ),
+                    invocableInfo.method().getEnclosingElement()));
         }
         return List.from(args);
     }
 
+    private static JCTree.JCExpression parseLiteral(CreateExpressionParams createParams, Element declaringClass) {
+        try {
+            return LiteralExpressionType.getInstance().parse(createParams).toJcExpression();
+        } catch (Exception e) {
+            return LiteralExpression.NULL.toJcExpression();
+        }
+    }
+
 }
@@ -13,10 +13,10 @@ import org.projectparams.annotationprocessing.astcommons.context.CUContext;
 import org.projectparams.annotationprocessing.astcommons.context.ClassContext;
 import org.projectparams.annotationprocessing.astcommons.parsing.utils.ExpressionMaker;
 import org.projectparams.annotationprocessing.astcommons.visitors.AbstractVisitor;
+import org.projectparams.annotationprocessing.utils.ProcessingLog;
 
 import javax.annotation.processing.Messager;
 import javax.lang.model.element.Modifier;
-import javax.tools.Diagnostic;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
@@ -24,9 +24,16 @@ import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.StreamSupport;
 
+/**
+ * Replaces member references pointing at one of the given invocable names with lambdas,
+ * any other member reference is left untouched
+ */
 public class MemberRefsToLambdasVisitor extends AbstractVisitor<Void, Void> {
-    public MemberRefsToLambdasVisitor(Trees trees, Messager messager) {
+    private final Set<String> invocableNames;
+
+    public MemberRefsToLambdasVisitor(Set<String> invocableNames, Trees trees, Messager messager) {
         super(trees, messager);
+        this.invocableNames = invocableNames;
     }
 
     private static JCTree.JCExpression getBodyExpr(JCTree.JCMemberReference memberReference, List<JCTree.JCVariableDecl> args) {
@@ -91,6 +98,9 @@ public class MemberRefsToLambdasVisitor extends AbstractVisitor<Void, Void> {
 
     @Override
     public Void visitMemberReference(com.sun.source.tree.MemberReferenceTree node, Void ignored) {
+        if (!invocableNames.contains(getReferencedName((JCTree.JCMemberReference) node))) {
+            return super.visitMemberReference(node, ignored);
+        }
         var parent = getCurrentPath().getParentPath().getLeaf();
         List<JCTree.JCExpression> temp;
         var lambda = toLambda((JCTree.JCMemberReference) node, (JCTree) parent);
@@ -111,17 +121,26 @@ public class MemberRefsToLambdasVisitor extends AbstractVisitor<Void, Void> {
             case JCTree.JCVariableDecl varDecl -> varDecl.init = lambda;
             default -> {/*pass*/}
         }
-        messager.printMessage(Diagnostic.Kind.NOTE, "Replaced member reference with lambda in : " + parent);
+        ProcessingLog.debug(() -> "Replaced member reference with lambda in : " + parent);
         return super.visitMemberReference(node, ignored);
     }
 
+    private static String getReferencedName(JCTree.JCMemberReference memberReference) {
+        return memberReference.mode == MemberReferenceTree.ReferenceMode.NEW ? "<init>" : memberReference.name.toString();
+    }
+
     private JCTree.JCLambda toLambda(JCTree.JCMemberReference memberReference, JCTree parent) {
         try {
             var args = getPassedArgs(parent, memberReference);
-            return ExpressionMaker.makeLambda(
+            var lambda = ExpressionMaker.makeLambda(
                     args,
                     getBodyExpr(memberReference, args)
             );
+            // flow analysis only tracks variables declared after the start of the analyzed class,
+            // so the lambda and its parameters can't keep whatever position the tree maker had
+            lambda.pos = memberReference.pos;
+            args.forEach(arg -> arg.pos = memberReference.pos);
+            return lambda;
         } catch (IllegalStateException e) {
             return null;
         }
@@ -12,23 +12,23 @@ import org.projectparams.annotationprocessing.astcommons.visitors.AbstractVisito
 import org.projectparams.annotationprocessing.exceptions.UnsupportedSignatureException;
 import org.projectparams.annotationprocessing.processors.defaultvalue.InvocableInfo;
 import org.projectparams.annotationprocessing.processors.defaultvalue.argumentsuppliers.ArgumentSupplier;
+import org.projectparams.annotationprocessing.utils.ProcessingLog;
+import org.projectparams.annotationprocessing.utils.ProcessingReport;
 
 import javax.annotation.processing.Messager;
 import javax.tools.Diagnostic;
 import java.util.Set;
 
 public class MethodCallModifierVisitor extends AbstractVisitor<Void, InvocableInfo> {
-    private final Set<InvocableTree> fixedMethodsInIteration;
-    private final Set<InvocableTree> allFixedMethods;
+    private final Set<InvocableTree> fixedMethods;
     private final ArgumentSupplier argumentSupplier;
 
-    public MethodCallModifierVisitor(Set<InvocableTree> fixedMethodsInIteration,
+    public MethodCallModifierVisitor(Set<InvocableTree> fixedMethods,
                                      Trees trees,
                                      ArgumentSupplier argumentSupplier,
-                                     Messager messager, Set<InvocableTree> allFixedMethods) {
+                                     Messager messager) {
         super(trees, messager);
-        this.fixedMethodsInIteration = fixedMethodsInIteration;
-        this.allFixedMethods = allFixedMethods;
+        this.fixedMethods = fixedMethods;
         this.argumentSupplier = argumentSupplier;
     }
 
@@ -36,35 +36,44 @@ public class MethodCallModifierVisitor extends AbstractVisitor<Void, InvocableIn
                           InvocableTree call,
                           List<JCTree.JCExpression> args) {
         call.setArguments(args.toArray(new JCTree.JCExpression[0]));
-        call.setReturnType(invocableInfo.returnTypeQualifiedName());
+        call.setReturnType(invocableInfo.returnType());
     }
 
+    // invocations are rewritten bottom-up, so receivers and arguments are fixed and typed before their parents
     @Override
     public Void visitMethodInvocation(MethodInvocationTree invocation, InvocableInfo invocableInfo) {
-        visitInvocable(new MethodInvocableTree(invocation, getCurrentPath()), invocableInfo);
-        return super.visitMethodInvocation(invocation, invocableInfo);
+        super.visitMethodInvocation(invocation, invocableInfo);
+        visitCallSite(new MethodInvocableTree(invocation, getCurrentPath()), invocableInfo);
+        return null;
     }
 
-    private void visitInvocable(InvocableTree invocation, InvocableInfo invocableInfo) {
-
-        if (!allFixedMethods.contains(invocation) &&
-                invocableInfo.matches(invocation)) {
-            List<JCTree.JCExpression> args;
-            try {
-                args = argumentSupplier.getModifiedArguments(invocation, invocableInfo, getCurrentPath());
-            } catch (UnsupportedSignatureException e) {
-                messager.printMessage(Diagnostic.Kind.ERROR, e.getMessage());
-                throw new RuntimeException(e);
-            }
-            fixInvoc(invocableInfo, invocation, args);
-            fixedMethodsInIteration.add(invocation);
-            messager.printMessage(Diagnostic.Kind.NOTE, "Fixed invocation: " + invocation);
+    /**
+     * Fixes the call site if it is not fixed yet and matches the invocable
+     *
+     * @return true if the call site was fixed
+     */
+    public boolean visitCallSite(InvocableTree invocation, InvocableInfo invocableInfo) {
+        if (fixedMethods.contains(invocation) || !invocableInfo.matches(invocation)) {
+            return false;
+        }
+        List<JCTree.JCExpression> args;
+        try {
+            args = argumentSupplier.getModifiedArguments(invocation, invocableInfo, invocation.getPath());
+        } catch (UnsupportedSignatureException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, e.getMessage());
+            throw new RuntimeException(e);
         }
+        fixInvoc(invocableInfo, invocation, args);
+        fixedMethods.add(invocation);
+        ProcessingReport.increment(ProcessingReport.Counter.REWRITES);
+        ProcessingLog.debug(() -> "Fixed invocation: " + invocation);
+        return true;
     }
 
     @Override
     public Void visitNewClass(NewClassTree that, InvocableInfo invocableInfo) {
-        visitInvocable(new NewClassInvocableTree(that, getCurrentPath()), invocableInfo);
-        return super.visitNewClass(that, invocableInfo);
+        super.visitNewClass(that, invocableInfo);
+        visitCallSite(new NewClassInvocableTree(that, getCurrentPath()), invocableInfo);
+        return null;
     }
 }
@@ -4,6 +4,7 @@ import com.sun.source.util.Trees;
 import com.sun.tools.javac.tree.TreeMaker;
 import org.projectparams.annotationprocessing.processors.AnnotationProcessor;
 import org.projectparams.annotationprocessing.processors.defaultvalue.DefaultValueProcessor;
+import org.projectparams.annotationprocessing.utils.ProcessorOptions;
 
 import javax.annotation.processing.Messager;
 import javax.annotation.processing.RoundEnvironment;
@@ -11,6 +12,7 @@ import javax.lang.model.element.Element;
 import javax.lang.model.element.PackageElement;
 import java.util.Collections;
 import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -24,9 +26,13 @@ public class DefaultProcessorsManager implements ProcessorsManager {
     private final Set<Element> processedUnits = Collections.newSetFromMap(new IdentityHashMap<>());
     private final Set<AnnotationProcessor<?>> processors;
 
-    public DefaultProcessorsManager(Trees trees, TreeMaker treeMaker, PackageElement rootPackage, Messager messager) {
+    public DefaultProcessorsManager(Trees trees,
+                                    TreeMaker treeMaker,
+                                    PackageElement rootPackage,
+                                    Messager messager,
+                                    ProcessorOptions options) {
         this.processors = Set.of(
-                new DefaultValueProcessor(trees, treeMaker, rootPackage, messager)
+                new DefaultValueProcessor(trees, treeMaker, rootPackage, messager, options)
         );
     }
 
@@ -34,7 +40,9 @@ public class DefaultProcessorsManager implements ProcessorsManager {
     public void process(RoundEnvironment roundEnv) {
         for (var processor : processors) {
             processor.process(roundEnv.getElementsAnnotatedWith(processor.getProcessedAnnotation()).stream()
-                    .filter(Predicate.not(processedUnits::contains)).collect(Collectors.toSet()));
+                    .filter(Predicate.not(processedUnits::contains))
+                    // keeps the source order, so the results don't depend on identity hash codes
+                    .collect(Collectors.toCollection(LinkedHashSet::new)));
         }
 
         processedUnits.addAll(roundEnv.getRootElements());
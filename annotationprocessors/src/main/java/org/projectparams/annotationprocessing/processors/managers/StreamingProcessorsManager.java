@@ -0,0 +1,141 @@
+package org.projectparams.annotationprocessing.processors.managers;
+
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.util.TaskEvent;
+import com.sun.source.util.TaskListener;
+import com.sun.source.util.Trees;
+import com.sun.tools.javac.tree.JCTree;
+import com.sun.tools.javac.tree.TreeMaker;
+import com.sun.tools.javac.util.Log;
+import org.projectparams.annotationprocessing.astcommons.PackageTree;
+import org.projectparams.annotationprocessing.astcommons.visitors.AttributionResetVisitor;
+import org.projectparams.annotationprocessing.processors.defaultvalue.DefaultValueProcessor;
+import org.projectparams.annotationprocessing.processors.defaultvalue.InvocableInfoPool;
+import org.projectparams.annotationprocessing.utils.ElementUtils;
+import org.projectparams.annotationprocessing.utils.ProcessingContext;
+import org.projectparams.annotationprocessing.utils.ProcessingReport;
+import org.projectparams.annotationprocessing.utils.ProcessingUtils;
+import org.projectparams.annotationprocessing.utils.ProcessorOptions;
+import org.projectparams.annotations.DefaultValue;
+
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Fixes call sites of each compilation unit right before javac analyzes its first class,
+ * instead of processing the whole root package in an annotation processing round.
+ * <p>
+ * The pool of invocables with default values is created on the first analyzed class,
+ * at that point all compilation units are entered and none of them is attributed by javac yet
+ */
+public class StreamingProcessorsManager implements TaskListener {
+    /**
+     * Set of already processed compilation units.
+     * IdentityHashSet is used because JCCompilationUnits are mutated during processing.
+     */
+    private final Set<CompilationUnitTree> processedUnits = Collections.newSetFromMap(new IdentityHashMap<>());
+    // state of the utils, bound to the javac thread while an event is handled
+    private final ProcessingContext processingContext;
+    private final Trees trees;
+    private final TreeMaker treeMaker;
+    private final Elements elements;
+    private final Messager messager;
+    private final Filer filer;
+    private final Log log;
+    private final ProcessorOptions options;
+    // Initialized when the first class is analyzed
+    private DefaultValueProcessor processor;
+    private InvocableInfoPool invocablePool;
+
+    public StreamingProcessorsManager(ProcessingContext processingContext,
+                                      Trees trees,
+                                      TreeMaker treeMaker,
+                                      Elements elements,
+                                      Messager messager,
+                                      Filer filer,
+                                      Log log,
+                                      ProcessorOptions options) {
+        this.processingContext = processingContext;
+        this.trees = trees;
+        this.treeMaker = treeMaker;
+        this.elements = elements;
+        this.messager = messager;
+        this.filer = filer;
+        this.log = log;
+        this.options = options;
+    }
+
+    @Override
+    public void started(TaskEvent event) {
+        if (event.getKind() != TaskEvent.Kind.ANALYZE || !processedUnits.add(event.getCompilationUnit())) {
+            return;
+        }
+        var compilationUnit = event.getCompilationUnit();
+        // default values and call sites are attributed before they are fixed,
+        // the errors reported for them are dropped the same way javac drops them after a processing round,
+        // messages of the processor itself are kept
+        var attributionDiagnostics = new Log.DeferredDiagnosticHandler(log,
+                diagnostic -> !diagnostic.getCode().contains("proc.messager"));
+        try {
+            processingContext.run(() -> {
+                try {
+                    if (processor == null) {
+                        initProcessor(event.getTypeElement());
+                    }
+                    processor.fixCallSites(PackageTree.ofCompilationUnit(compilationUnit, trees), invocablePool);
+                } finally {
+                    log.popDiagnosticHandler(attributionDiagnostics);
+                }
+                // javac has to attribute the modified trees again
+                ((JCTree) compilationUnit).accept(new AttributionResetVisitor());
+            });
+        } catch (Throwable t) {
+            messager.printMessage(Diagnostic.Kind.ERROR,
+                    t.getMessage() + "\n" + Arrays.toString(t.getStackTrace()).replaceAll(",", "\n"));
+        }
+    }
+
+    @Override
+    public void finished(TaskEvent event) {
+        if (event.getKind() != TaskEvent.Kind.COMPILATION) {
+            return;
+        }
+        processingContext.run(() -> {
+            try {
+                ProcessingReport.write(filer);
+            } catch (IOException e) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "Could not write processing report: " + e.getMessage());
+            }
+        });
+    }
+
+    private void initProcessor(TypeElement analyzedClass) {
+        var rootPackage = ProcessingUtils.getRootPackage(analyzedClass);
+        ElementUtils.init(processingContext, elements, rootPackage, trees);
+        processor = new DefaultValueProcessor(trees, treeMaker, rootPackage, messager, options);
+        invocablePool = processor.createInvocablePool(getDefaultValueParameters());
+    }
+
+    private Set<Element> getDefaultValueParameters() {
+        return ElementUtils.getAllClasses(ElementUtils.getRootPackage()).stream()
+                .flatMap(clazz -> clazz.getEnclosedElements().stream())
+                .filter(member -> member.getKind() == ElementKind.METHOD
+                        || member.getKind() == ElementKind.CONSTRUCTOR)
+                .flatMap(method -> ((ExecutableElement) method).getParameters().stream())
+                .filter(parameter -> parameter.getAnnotation(DefaultValue.class) != null)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+}
@@ -2,51 +2,82 @@ package org.projectparams.annotationprocessing.utils;
 
 import com.sun.source.util.TreePath;
 import com.sun.source.util.Trees;
-import com.sun.tools.javac.code.Type;
-import org.projectparams.annotationprocessing.astcommons.TypeUtils;
+import org.projectparams.annotationprocessing.astcommons.ClassHierarchy;
 
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.PackageElement;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.util.Elements;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
 public class ElementUtils {
-    private static Elements elements;
-    private static PackageElement rootPackage;
-    private static Trees trees;
+    private static final ProcessingContext.Key<State> stateKey = new ProcessingContext.Key<>();
+
+    // class hierarchies are built for the classes returned by getAllClasses, by their package
+    private record State(Elements elements, PackageElement rootPackage, Trees trees,
+                         Map<PackageElement, ClassHierarchy> classHierarchies) {
+    }
 
     // initialized in org.projectparams.annotationprocessing.MainProcessor
-    public static void init(Elements elements, PackageElement rootPackage, Trees trees) {
-        ElementUtils.elements = elements;
-        ElementUtils.rootPackage = rootPackage;
-        ElementUtils.trees = trees;
+    public static void init(ProcessingContext processingContext, Elements elements, PackageElement rootPackage,
+                            Trees trees) {
+        processingContext.put(stateKey, new State(elements, rootPackage, trees, new HashMap<>()));
+    }
+
+    private static State state() {
+        return ProcessingContext.current().get(stateKey);
+    }
+
+    /**
+     * Drops class hierarchies built in the previous processing round, new classes may have been generated since
+     */
+    public static void clearClassHierarchies() {
+        state().classHierarchies().clear();
     }
 
     public static PackageElement getPackageByName(String packageName) {
-        return elements.getPackageElement(packageName);
+        return state().elements().getPackageElement(packageName);
     }
 
     public static TypeElement getClassByName(String className) {
-        return elements.getTypeElement(className);
+        return state().elements().getTypeElement(className);
     }
 
+    /**
+     * @return classes returned by {@link #getAllClasses(Element)} that are proper subtypes of the given type
+     */
     public static List<TypeElement> getAllChildren(TypeElement typeElement) {
-        return getAllClasses(typeElement).stream()
-                .filter(clazz -> TypeUtils.isAssignable((Type) clazz.asType(), (Type) typeElement.asType())
-                        && !clazz.equals(typeElement))
-                .toList();
+        return getClassHierarchy(typeElement).getDescendants(typeElement);
+    }
+
+    /**
+     * @return true if the method overrides the other one as a member of the given class, same as javac checks it
+     */
+    public static boolean overrides(ExecutableElement overrider, ExecutableElement overridden, TypeElement type) {
+        return state().elements().overrides(overrider, overridden, type);
+    }
+
+    public static ClassHierarchy getClassHierarchy(Element someElement) {
+        return state().classHierarchies().computeIfAbsent(getPackage(someElement),
+                packageElement -> ClassHierarchy.of(getClassesInPackage(packageElement)));
     }
 
     public static List<TypeElement> getAllClasses(Element someElement) {
+        return getClassesInPackage(getPackage(someElement));
+    }
+
+    private static PackageElement getPackage(Element someElement) {
         var rootPackage = someElement;
         while (rootPackage.getEnclosingElement().getKind() != ElementKind.MODULE) {
             rootPackage = rootPackage.getEnclosingElement();
         }
-        return getClassesInPackage((PackageElement) rootPackage);
+        return (PackageElement) rootPackage;
     }
 
     public static List<TypeElement> getAllTopLevelClasses(Element someElement) {
@@ -79,10 +110,10 @@ public class ElementUtils {
     }
 
     public static PackageElement getRootPackage() {
-        return rootPackage;
+        return state().rootPackage();
     }
 
     public static Element getClassByPath(TreePath classPath) {
-        return trees.getElement(classPath);
+        return state().trees().getElement(classPath);
     }
 }
@@ -0,0 +1,103 @@
+package org.projectparams.annotationprocessing.utils;
+
+import com.sun.tools.javac.util.Context;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * State of the static utils for a single compilation, so compilations running at the same time in one JVM
+ * don't share trees, symbols or caches.
+ * <p>
+ * A context is created once per javac {@link Context} and is bound to a thread with {@link #run(Runnable)}
+ * or {@link #call(Supplier)} while the processor runs on it, the static utils look up their state in the context bound to the current thread
+ */
+public class ProcessingContext {
+    private static final Context.Key<ProcessingContext> contextKey = new Context.Key<>();
+    private static final ThreadLocal<ProcessingContext> current = new ThreadLocal<>();
+    // values are set on the javac thread and may be read from analysis threads
+    private final Map<Key<?>, Object> values = new ConcurrentHashMap<>();
+
+    private ProcessingContext() {
+    }
+
+    /**
+     * Identifies a value of the context, compared by identity
+     */
+    @SuppressWarnings("unused")
+    public static final class Key<T> {
+    }
+
+    public static ProcessingContext instance(Context context) {
+        var processingContext = context.get(contextKey);
+        if (processingContext == null) {
+            processingContext = new ProcessingContext();
+            context.put(contextKey, processingContext);
+        }
+        return processingContext;
+    }
+
+    /**
+     * @throws IllegalStateException if no context is bound to the current thread
+     */
+    public static ProcessingContext current() {
+        var processingContext = current.get();
+        if (processingContext == null) {
+            throw new IllegalStateException("No processing context is bound to the current thread");
+        }
+        return processingContext;
+    }
+
+    /**
+     * @return value of the context bound to the current thread, null if there is no context or the value is not set
+     */
+    public static <T> T find(Key<T> key) {
+        var processingContext = current.get();
+        return processingContext == null ? null : processingContext.get(key);
+    }
+
+    /**
+     * Runs the action with this context bound to the current thread, the context bound before is restored after it
+     */
+    public void run(Runnable action) {
+        call(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Same as {@link #run(Runnable)}, but returns the result of the action
+     */
+    public <T> T call(Supplier<T> action) {
+        var previous = current.get();
+        current.set(this);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                current.remove();
+            } else {
+                current.set(previous);
+            }
+        }
+    }
+
+    public <T> void put(Key<T> key, T value) {
+        values.put(key, value);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(Key<T> key) {
+        return (T) values.get(key);
+    }
+
+    /**
+     * @return value of the key, set to the supplied one if it is not set yet
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T computeIfAbsent(Key<T> key, Supplier<T> supplier) {
+        return (T) values.computeIfAbsent(key, ignored -> supplier.get());
+    }
+}
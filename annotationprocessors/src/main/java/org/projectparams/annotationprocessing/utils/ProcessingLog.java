@@ -0,0 +1,68 @@
+package org.projectparams.annotationprocessing.utils;
+
+import javax.annotation.processing.Messager;
+import javax.tools.Diagnostic;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Notes printed through the {@link Messager} up to the level set with {@code -Aprojectparams.log=<level>}.
+ * <p>
+ * Messages are supplied lazily, so trees are not pretty-printed unless their level is enabled.
+ * Nothing is printed by default
+ */
+public class ProcessingLog {
+    private static final ProcessingContext.Key<State> stateKey = new ProcessingContext.Key<>();
+
+    private ProcessingLog() {
+        throw new UnsupportedOperationException();
+    }
+
+    public enum Level {
+        OFF,
+        // summaries of processing, printed a few times per compilation
+        INFO,
+        // every modification of the trees
+        DEBUG,
+        // every parsed default value and visited node
+        TRACE;
+
+        public static Level of(String name) {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private record State(Messager messager, Level level) {
+    }
+
+    // initialized in org.projectparams.annotationprocessing.MainProcessor
+    public static void init(ProcessingContext processingContext, Messager messager, Level level) {
+        processingContext.put(stateKey, new State(messager, level));
+    }
+
+    /**
+     * @return false for every level if no processing context is bound to the thread
+     */
+    public static boolean isEnabled(Level level) {
+        var state = ProcessingContext.find(stateKey);
+        return state != null && level != Level.OFF && level.compareTo(state.level()) <= 0;
+    }
+
+    public static void info(Supplier<String> message) {
+        log(Level.INFO, message);
+    }
+
+    public static void debug(Supplier<String> message) {
+        log(Level.DEBUG, message);
+    }
+
+    public static void trace(Supplier<String> message) {
+        log(Level.TRACE, message);
+    }
+
+    private static void log(Level level, Supplier<String> message) {
+        if (isEnabled(level)) {
+            ProcessingContext.current().get(stateKey).messager().printMessage(Diagnostic.Kind.NOTE, message.get());
+        }
+    }
+}
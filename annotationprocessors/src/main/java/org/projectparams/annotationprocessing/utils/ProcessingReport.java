@@ -0,0 +1,169 @@
+package org.projectparams.annotationprocessing.utils;
+
+import org.projectparams.annotationprocessing.events.PhaseEvent;
+
+import javax.annotation.processing.Filer;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Wall time and counters of processing phases,
+ * written as a JSON resource to the class output if {@code -Aprojectparams.report=true} is set.
+ * <p>
+ * Counters may be incremented from analysis threads, phases are only run on the javac thread
+ */
+public class ProcessingReport {
+    public static final String RESOURCE_NAME = "projectparams-report.json";
+    private static final ProcessingContext.Key<State> stateKey = new ProcessingContext.Key<>();
+    // used if no processing context is bound to the thread, e.g. when expressions are parsed outside of processing
+    private static final State disabledState = new State(false);
+
+    private ProcessingReport() {
+        throw new UnsupportedOperationException();
+    }
+
+    public enum Counter {
+        NODES_VISITED("nodesVisited"),
+        MATCHES_CALLS("matchesCalls"),
+        OWNER_RESOLUTIONS("ownerResolutions"),
+        IS_ASSIGNABLE_CALLS("isAssignableCalls"),
+        ASSIGNABILITY_CACHE_HITS("assignabilityCacheHits"),
+        REWRITES("rewrites"),
+        REQUEUED_CALL_SITES("requeuedCallSites"),
+        DEFAULT_VALUE_PARSES("defaultValueParses"),
+        TEMPLATE_CACHE_HITS("templateCacheHits"),
+        SKIPPED_COMPILATION_UNITS("skippedCompilationUnits");
+
+        private final String jsonName;
+
+        Counter(String jsonName) {
+            this.jsonName = jsonName;
+        }
+    }
+
+    private record Phase(String name, long wallTimeNanos, Map<Counter, Long> counters) {
+    }
+
+    private static final class State {
+        private final boolean enabled;
+        private final Map<Counter, LongAdder> counters = new EnumMap<>(Counter.class);
+        private final List<Phase> phases = new ArrayList<>();
+
+        private State(boolean enabled) {
+            this.enabled = enabled;
+            for (var counter : Counter.values()) {
+                counters.put(counter, new LongAdder());
+            }
+        }
+    }
+
+    // initialized in org.projectparams.annotationprocessing.MainProcessor
+    public static void init(ProcessingContext processingContext, boolean enabled) {
+        processingContext.put(stateKey, new State(enabled));
+    }
+
+    private static State state() {
+        var state = ProcessingContext.find(stateKey);
+        return state == null ? disabledState : state;
+    }
+
+    public static boolean isEnabled() {
+        return state().enabled;
+    }
+
+    public static void increment(Counter counter) {
+        var state = state();
+        if (state.enabled) {
+            state.counters.get(counter).increment();
+        }
+    }
+
+    public static void add(Counter counter, long value) {
+        var state = state();
+        if (state.enabled) {
+            state.counters.get(counter).add(value);
+        }
+    }
+
+    public static void phase(String name, Runnable action) {
+        phase(name, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs the action and records its wall time and the counters incremented while it was running,
+     * also commits a {@link PhaseEvent} if it is enabled in a Flight Recorder session
+     */
+    public static <T> T phase(String name, Supplier<T> action) {
+        var state = state();
+        var event = new PhaseEvent();
+        if (!state.enabled && !event.isEnabled()) {
+            return action.get();
+        }
+        event.phase = name;
+        event.begin();
+        var countersBefore = state.enabled ? snapshot(state) : null;
+        var start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            var wallTimeNanos = System.nanoTime() - start;
+            event.commit();
+            if (state.enabled) {
+                var phaseCounters = snapshot(state);
+                phaseCounters.replaceAll((counter, value) -> value - countersBefore.get(counter));
+                state.phases.add(new Phase(name, wallTimeNanos, phaseCounters));
+            }
+        }
+    }
+
+    public static void write(Filer filer) throws IOException {
+        if (!isEnabled()) {
+            return;
+        }
+        try (var writer = filer.createResource(StandardLocation.CLASS_OUTPUT, "", RESOURCE_NAME).openWriter()) {
+            writer.write(toJson());
+        }
+    }
+
+    public static String toJson() {
+        var state = state();
+        var phases = state.phases;
+        var json = new StringBuilder("{\n  \"phases\": [");
+        for (var i = 0; i < phases.size(); i++) {
+            var phase = phases.get(i);
+            json.append(i == 0 ? "\n" : ",\n")
+                    .append("    {\"name\": \"").append(phase.name()).append("\", ");
+            appendMeasurements(json, phase.wallTimeNanos(), phase.counters());
+            json.append("}");
+        }
+        json.append("\n  ],\n  \"total\": {");
+        appendMeasurements(json, phases.stream().mapToLong(Phase::wallTimeNanos).sum(), snapshot(state));
+        return json.append("}\n}\n").toString();
+    }
+
+    private static void appendMeasurements(StringBuilder json, long wallTimeNanos, Map<Counter, Long> counters) {
+        json.append("\"wallTimeMillis\": ").append(String.format(Locale.ROOT, "%.3f", wallTimeNanos / 1e6));
+        counters.forEach((counter, value) -> json.append(", \"").append(counter.jsonName).append("\": ").append(value));
+        var isAssignableCalls = counters.get(Counter.IS_ASSIGNABLE_CALLS);
+        if (isAssignableCalls > 0) {
+            json.append(", \"assignabilityCacheHitRate\": ").append(String.format(Locale.ROOT, "%.3f",
+                    (double) counters.get(Counter.ASSIGNABILITY_CACHE_HITS) / isAssignableCalls));
+        }
+    }
+
+    private static Map<Counter, Long> snapshot(State state) {
+        var snapshot = new EnumMap<Counter, Long>(Counter.class);
+        state.counters.forEach((counter, value) -> snapshot.put(counter, value.sum()));
+        return snapshot;
+    }
+}
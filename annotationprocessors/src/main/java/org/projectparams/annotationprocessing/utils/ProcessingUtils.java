@@ -1,11 +1,26 @@
 package org.projectparams.annotationprocessing.utils;
 
+import com.sun.source.util.Trees;
+import com.sun.tools.javac.code.Symtab;
+import com.sun.tools.javac.comp.Attr;
+import com.sun.tools.javac.comp.Enter;
+import com.sun.tools.javac.comp.MemberEnter;
+import com.sun.tools.javac.parser.ParserFactory;
 import com.sun.tools.javac.processing.JavacProcessingEnvironment;
+import com.sun.tools.javac.tree.TreeMaker;
+import com.sun.tools.javac.util.Log;
+import com.sun.tools.javac.util.Names;
 import org.projectparams.annotationprocessing.MainProcessor;
+import org.projectparams.annotationprocessing.astcommons.PathUtils;
+import org.projectparams.annotationprocessing.astcommons.TypeUtils;
+import org.projectparams.annotationprocessing.astcommons.parsing.expressions.ExpressionFactory;
+import org.projectparams.annotationprocessing.astcommons.parsing.parser.JavacExpressionParser;
+import org.projectparams.annotationprocessing.astcommons.parsing.utils.ExpressionMaker;
 import org.projectparams.annotationprocessing.exceptions.ProcessingEnvironmentException;
 
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.PackageElement;
 import javax.tools.Diagnostic;
@@ -18,6 +33,31 @@ public class ProcessingUtils {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Initializes static utils shared by the annotation processor and the compiler plugin,
+     * their state is kept in the given context
+     */
+    public static void initUtils(ProcessingContext processingContext,
+                                 ProcessingEnvironment processingEnv,
+                                 JavacProcessingEnvironment javacProcessingEnv,
+                                 Trees trees,
+                                 TreeMaker treeMaker,
+                                 ProcessorOptions options) {
+        var context = javacProcessingEnv.getContext();
+        TypeUtils.init(processingContext, trees, javacProcessingEnv.getTypeUtils(),
+                processingEnv.getElementUtils(),
+                Symtab.instance(context),
+                Attr.instance(context),
+                Enter.instance(context),
+                MemberEnter.instance(context));
+        ExpressionMaker.init(processingContext, treeMaker, Names.instance(context));
+        ExpressionFactory.init(processingContext, options.parser());
+        JavacExpressionParser.init(processingContext, ParserFactory.instance(context), Log.instance(context));
+        PathUtils.init(processingContext, trees);
+        ProcessingReport.init(processingContext, options.report());
+        ProcessingLog.init(processingContext, processingEnv.getMessager(), options.logLevel());
+    }
+
     public static JavacProcessingEnvironment getJavacProcessingEnvironment(Object procEnv)
             throws ProcessingEnvironmentException {
         if (procEnv instanceof ProcessingEnvironment processingEnv) {
@@ -35,6 +75,19 @@ public class ProcessingUtils {
      * this method opens required packages in jdk.compiler module to the current module
      */
     public static void addOpensInModule(ProcessingEnvironment processingEnv) {
+        try {
+            addOpensInModule();
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Could not add opens to jdk.compiler module " + e.getMessage());
+        }
+    }
+
+    /**
+     * same as {@link #addOpensInModule(ProcessingEnvironment)}, but failures are thrown instead of reported,
+     * usable before any javac internals are accessible
+     */
+    public static void addOpensInModule() throws ReflectiveOperationException {
         Class<?> moduleClass;
         try {
             moduleClass = Class.forName("java.lang.Module");
@@ -51,22 +104,15 @@ public class ProcessingUtils {
                 "com.sun.tools.javac.tree",
                 "com.sun.tools.javac.util",
                 "com.sun.tools.javac.code",
-                "com.sun.tools.javac.comp"
+                "com.sun.tools.javac.comp",
+                "com.sun.tools.javac.parser",
+                "com.sun.tools.javac.api"
         );
-        try {
-            // add required for project opens to jdk.compiler module
-            var m = moduleClass.getDeclaredMethod("implAddOpens", String.class, moduleClass);
-            m.setAccessible(true);
-            requiredPackages.forEach(p -> {
-                try {
-                    m.invoke(jdkCompilerModule, p, ownModule);
-                } catch (Exception e) {
-                    throw new RuntimeException(e);
-                }
-            });
-        } catch (Exception e) {
-            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
-                    "Could not add opens to jdk.compiler module " + e.getMessage());
+        // add required for project opens to jdk.compiler module
+        var m = moduleClass.getDeclaredMethod("implAddOpens", String.class, moduleClass);
+        m.setAccessible(true);
+        for (var p : requiredPackages) {
+            m.invoke(jdkCompilerModule, p, ownModule);
         }
     }
 
@@ -118,7 +164,10 @@ public class ProcessingUtils {
         if (rootElementsOpt.isEmpty()) {
             throw new RuntimeException("Could not find root package");
         }
-        var rootElement = rootElementsOpt.get();
+        return getRootPackage(rootElementsOpt.get());
+    }
+
+    public static PackageElement getRootPackage(Element rootElement) {
         while (!rootElement.getEnclosingElement().getKind().equals(ElementKind.MODULE)) {
             rootElement = rootElement.getEnclosingElement();
         }
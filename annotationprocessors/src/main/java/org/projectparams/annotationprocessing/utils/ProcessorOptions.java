@@ -0,0 +1,75 @@
+package org.projectparams.annotationprocessing.utils;
+
+import org.projectparams.annotationprocessing.astcommons.parsing.expressions.ExpressionFactory;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Options passed to the processor with {@code -A<name>=<value>}
+ *
+ * @param parallelism number of threads used to scan compilation units for relevant names and call sites,
+ *                    1 scans them on the javac thread. Only these read-only scans run in parallel, matching, fixing
+ *                    and injecting need javac symbols and always run on the javac thread, so most of the work
+ *                    doesn't get faster with more threads
+ * @param report      whether to write {@link ProcessingReport} to the class output
+ * @param logLevel    level of notes printed by {@link ProcessingLog}
+ * @param parser      parser of default values used by {@link ExpressionFactory}
+ */
+public record ProcessorOptions(int parallelism, boolean report, ProcessingLog.Level logLevel,
+                               ExpressionFactory.Parser parser) {
+    public static final String PARALLELISM = "projectparams.parallelism";
+    public static final String REPORT = "projectparams.report";
+    public static final String LOG_LEVEL = "projectparams.log";
+    public static final String PARSER = "projectparams.parser";
+
+    public static ProcessorOptions from(Map<String, String> options) {
+        return new ProcessorOptions(
+                getPositiveInt(options, PARALLELISM, 1),
+                Boolean.parseBoolean(options.get(REPORT)),
+                getLogLevel(options),
+                getParser(options));
+    }
+
+    private static ExpressionFactory.Parser getParser(Map<String, String> options) {
+        var value = options.get(PARSER);
+        if (value == null) {
+            return ExpressionFactory.Parser.BUILTIN;
+        }
+        try {
+            return ExpressionFactory.Parser.of(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Option " + PARSER + " must be one of "
+                    + Arrays.toString(ExpressionFactory.Parser.values()).toLowerCase(Locale.ROOT) + ", got " + value);
+        }
+    }
+
+    private static ProcessingLog.Level getLogLevel(Map<String, String> options) {
+        var value = options.get(LOG_LEVEL);
+        if (value == null) {
+            return ProcessingLog.Level.OFF;
+        }
+        try {
+            return ProcessingLog.Level.of(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Option " + LOG_LEVEL + " must be one of "
+                    + Arrays.toString(ProcessingLog.Level.values()).toLowerCase(Locale.ROOT) + ", got " + value);
+        }
+    }
+
+    private static int getPositiveInt(Map<String, String> options, String name, int defaultValue) {
+        var value = options.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            var parsed = Integer.parseInt(value.trim());
+            if (parsed > 0) {
+                return parsed;
+            }
+        } catch (NumberFormatException ignored) {
+        }
+        throw new IllegalArgumentException("Option " + name + " must be a positive integer, got " + value);
+    }
+}
@@ -0,0 +1,63 @@
+package org.projectparams.annotationprocessing;
+
+import org.junit.jupiter.api.Test;
+
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MainPluginTest {
+    // the call compiles only if the plugin injects the default value
+    private static final String SOURCE = """
+            import org.projectparams.annotations.DefaultValue;
+
+            class Defaulted {
+                static int defaulted(@DefaultValue("4") int value) {
+                    return value;
+                }
+
+                static int call() {
+                    return defaulted();
+                }
+            }
+            """;
+
+    /**
+     * Test JVM exports javac internals, so the plugin runs in a forked JVM
+     * with only the opens the annotation processor needs as well
+     */
+    @Test
+    public void testPluginWithoutExports() throws IOException, InterruptedException {
+        var directory = Files.createTempDirectory("plugin");
+        Files.writeString(directory.resolve("Defaulted.java"), SOURCE);
+        var java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        var process = new ProcessBuilder(java,
+                "--add-opens=java.base/java.lang=ALL-UNNAMED",
+                "-cp", System.getProperty("java.class.path"),
+                MainPluginTest.class.getName(), directory.toString())
+                .redirectErrorStream(true)
+                .start();
+        var output = new String(process.getInputStream().readAllBytes());
+        assertEquals(0, process.waitFor(), output);
+        assertTrue(Files.exists(directory.resolve("Defaulted.class")), output);
+    }
+
+    /**
+     * Compiles Defaulted.java in the given directory with the plugin through {@link com.sun.source.util.JavacTask}
+     */
+    public static void main(String[] args) {
+        var directory = Path.of(args[0]);
+        var compiler = ToolProvider.getSystemJavaCompiler();
+        var fileManager = compiler.getStandardFileManager(null, null, null);
+        var classPath = System.getProperty("java.class.path");
+        var task = compiler.getTask(null, fileManager, null,
+                List.of("-proc:none", "-Xplugin:ProjectParams",
+                        "-processorpath", classPath, "-classpath", classPath, "-d", directory.toString()),
+                null, fileManager.getJavaFileObjects(directory.resolve("Defaulted.java")));
+        System.exit(task.call() ? 0 : 1);
+    }
+}
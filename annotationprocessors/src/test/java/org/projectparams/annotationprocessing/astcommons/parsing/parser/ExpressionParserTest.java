@@ -0,0 +1,496 @@
+package org.projectparams.annotationprocessing.astcommons.parsing.parser;
+
+import com.sun.source.tree.MemberReferenceTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.util.JavacTask;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.TreePathScanner;
+import com.sun.source.util.Trees;
+import com.sun.tools.javac.api.BasicJavacTask;
+import com.sun.tools.javac.processing.JavacProcessingEnvironment;
+import com.sun.tools.javac.tree.JCTree;
+import com.sun.tools.javac.tree.TreeMaker;
+import com.sun.tools.javac.tree.TreeScanner;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.projectparams.annotationprocessing.astcommons.context.ClassContext;
+import org.projectparams.annotationprocessing.astcommons.parsing.expressions.CreateExpressionParams;
+import org.projectparams.annotationprocessing.astcommons.parsing.expressions.Expression;
+import org.projectparams.annotationprocessing.astcommons.parsing.expressions.ExpressionFactory;
+import org.projectparams.annotationprocessing.astcommons.parsing.expressions.javac.JavacExpression;
+import org.projectparams.annotationprocessing.astcommons.parsing.expressions.named.selectable.invocable.methodinvocation.MethodInvocationExpression;
+import org.projectparams.annotationprocessing.astcommons.parsing.utils.ExpressionMaker;
+import org.projectparams.annotationprocessing.utils.ElementUtils;
+import org.projectparams.annotationprocessing.utils.ProcessingContext;
+import org.projectparams.annotationprocessing.utils.ProcessingUtils;
+import org.projectparams.annotationprocessing.utils.ProcessorOptions;
+
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExpressionParserTest {
+    // expressions are parsed in the context method of this class, methods invoked by simple name must be declared in it
+    private static final String SOURCE = """
+            class Parsed {
+                int value;
+                static String name;
+
+                static int methodInvocation() {
+                    return 0;
+                }
+
+                static <T> T genericMethodInvocation() {
+                    return null;
+                }
+
+                void context() {
+                }
+            }
+            """;
+    private static final Compilation compilation = Compilation.analyze(SOURCE, "context", Map.of());
+    private static final Compilation javacCompilation = Compilation.analyze(SOURCE, "context",
+            Map.of(ProcessorOptions.PARSER, "javac"));
+
+    @ParameterizedTest
+    @CsvSource({
+            "validIdentifier, IdentifierExpression",
+            "test.variable.variable, FieldAccessExpression",
+            "test.variable[0].variable, FieldAccessExpression",
+            "matrix[2][3], ArrayAccessExpression",
+            "tensor[2][4][3], ArrayAccessExpression",
+            "'test.variable().new Test().variable', FieldAccessExpression",
+            "'comp$lex.methodInvocation(arg1, new AnotherClass()).method2()', MethodInvocationExpression",
+            "'new Complex<String, Integer>().methodInvocation(arg)', MethodInvocationExpression",
+            "'methodInvocation.<String>genericMethod(arg).method2().method3()', MethodInvocationExpression",
+            "'new Sucus().mains[Sucus.mains[1].getZero()].<Map<Integer, List<Float>>>akakus(Map.of(3, List.of((float)(double)6.d)))', MethodInvocationExpression",
+            "'<Integer>genericMethodInvocation().new SomeClass(param1, param2)', NewClassExpression",
+            "new int[5], NewArrayExpression",
+            "'new String [] [    ] { { \"Hello\" , \"World\" } , { \"Foo\" , \"Bar\" } }', NewArrayExpression",
+            "(java.util.Map)someVar, CastExpression",
+            "(random[123]), ParenthesizedExpression",
+            "'(x+y) ? ((a*b)/c ? d-e : f+g) : z-a', ConditionalExpression",
+            "~object.method().anotherMethod(), UnaryExpression",
+            "++arr[3], UnaryExpression",
+            "access[2] / 2, BinaryExpression",
+            "3 >>> 2, BinaryExpression",
+            "3 instanceof Integer, BinaryExpression",
+            "'complex.methodInvocation(arg1, arg2)', MethodInvocationExpression",
+            "methodInvocation(arg).method2().method3(), MethodInvocationExpression",
+            "<Integer>genericMethodInvocation(), MethodInvocationExpression",
+            "abobus.new Bibus(), NewClassExpression",
+            "'new SomeClass<Generic>(param1, param2)', NewClassExpression",
+            "new String[5][6], NewArrayExpression",
+            "(short)methodInvocation(), CastExpression",
+            "(1+2*3/4-5), ParenthesizedExpression",
+            "x ? (y > z ? a : b) : (c < d ? e : f), ConditionalExpression",
+            "-obj.getMethod(param), UnaryExpression",
+            "var++, UnaryExpression",
+            "getOne(3 < 2) > 1, BinaryExpression",
+            "'(a, b) -> a.execute(b)', LambdaExpression",
+            "String::valueOf, MemberReferenceExpression",
+            "123L, LiteralExpression",
+            "'\"hello world\"', LiteralExpression",
+            "null, LiteralExpression"
+    })
+    public void testExpressionTypes(String expression, String expressionType) {
+        assertEquals(expressionType, parse(expression).getClass().getSimpleName());
+    }
+
+    /**
+     * Trees are printed with parentheses only where the grouping differs from Java precedence,
+     * so an expression printed back as it was written is grouped the same as javac groups it
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "a + b * c",
+            "(a + b) * c",
+            "a - b - c",
+            "a - (b - c)",
+            "a || b && c | d ^ e & f == g < h << i + j * k",
+            "a * b + c << d < e == f & g ^ h | i && j || k",
+            "-a * b",
+            "!a.b()",
+            "i++ + ++i",
+            "x ? y ? a : b : z",
+            "(x ? y : z) ? a : b",
+            "a ? b : c ? d : e",
+            "!(true ? false : true)",
+            "a instanceof String && b",
+            "a instanceof java.util.List<T>",
+            "Foo.<String, Integer>bar().baz",
+            "Parsed.<Integer>genericMethodInvocation()",
+            "test.variable[0].variable",
+            "numbers[index[4]]",
+            "(float)(double)6.0"
+    })
+    public void testGrouping(String expression) {
+        assertEquals(expression, toTree(expression).toString());
+    }
+
+    @Test
+    public void testPrecedence() {
+        var sum = assertInstanceOf(JCTree.JCBinary.class, toTree("a + b * c"));
+        assertEquals(JCTree.Tag.PLUS, sum.getTag());
+        assertEquals(JCTree.Tag.MUL, sum.rhs.getTag());
+
+        var or = assertInstanceOf(JCTree.JCBinary.class, toTree("a && b || c && d"));
+        assertEquals(JCTree.Tag.OR, or.getTag());
+        assertEquals(JCTree.Tag.AND, or.lhs.getTag());
+        assertEquals(JCTree.Tag.AND, or.rhs.getTag());
+
+        var comparison = assertInstanceOf(JCTree.JCBinary.class, toTree("a < b == c > d"));
+        assertEquals(JCTree.Tag.EQ, comparison.getTag());
+        assertEquals(JCTree.Tag.LT, comparison.lhs.getTag());
+        assertEquals(JCTree.Tag.GT, comparison.rhs.getTag());
+
+        var negated = assertInstanceOf(JCTree.JCBinary.class, toTree("-a * b"));
+        assertEquals(JCTree.Tag.NEG, negated.lhs.getTag());
+    }
+
+    @Test
+    public void testAssociativity() {
+        var difference = assertInstanceOf(JCTree.JCBinary.class, toTree("a - b - c"));
+        assertEquals(JCTree.Tag.MINUS, difference.lhs.getTag());
+        assertEquals(JCTree.Tag.IDENT, difference.rhs.getTag());
+
+        var shift = assertInstanceOf(JCTree.JCBinary.class, toTree("x >> 2 >>> 1"));
+        assertEquals(JCTree.Tag.USR, shift.getTag());
+        assertEquals(JCTree.Tag.SR, shift.lhs.getTag());
+
+        var conditional = assertInstanceOf(JCTree.JCConditional.class, toTree("a ? b : c ? d : e"));
+        assertEquals(JCTree.Tag.IDENT, conditional.truepart.getTag());
+        assertEquals(JCTree.Tag.CONDEXPR, conditional.falsepart.getTag());
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "(int) -a, int",
+            "(int)variableName, int",
+            "(String) a, String",
+            "(a)b, a",
+            "(a)!b, a",
+            "(java.lang.Integer) a, java.lang.Integer",
+            "(ClasWithInner.InnerClass.AndNumber4.AndDefault)methodInvocation(), " +
+                    "ClasWithInner.InnerClass.AndNumber4.AndDefault"
+    })
+    public void testCast(String expression, String type) {
+        var cast = assertInstanceOf(JCTree.JCTypeCast.class, toTree(expression));
+        assertEquals(type, cast.clazz.toString());
+    }
+
+    /**
+     * A parenthesized name followed by + or - is an operand, same as in javac
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"(a) + b", "(a) - b", "(a) * b", "(a) < b"})
+    public void testParenthesizedOperand(String expression) {
+        var binary = assertInstanceOf(JCTree.JCBinary.class, toTree(expression));
+        assertEquals(JCTree.Tag.PARENS, binary.lhs.getTag());
+    }
+
+    @Test
+    public void testCastOperand() {
+        var binary = assertInstanceOf(JCTree.JCBinary.class, toTree("(int) a + b"));
+        assertEquals(JCTree.Tag.TYPECAST, binary.lhs.getTag());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"a < b", "a < b > c", "a < b >> c", "a < b && c > d", "a<b>c"})
+    public void testLessThanIsNotTypeArguments(String expression) {
+        var binary = assertInstanceOf(JCTree.JCBinary.class, toTree(expression));
+        assertFalse(binary.toString().contains("<b>"));
+    }
+
+    @Test
+    public void testTypeArguments() {
+        var invocation = assertInstanceOf(JCTree.JCMethodInvocation.class, toTree("Foo.<T>bar()"));
+        assertEquals(List.of("T"), invocation.typeargs.stream().map(Object::toString).toList());
+        assertEquals("Foo.bar", invocation.meth.toString());
+
+        var reference = assertInstanceOf(JCTree.JCMemberReference.class, toTree("List<String>::size"));
+        assertEquals(JCTree.Tag.TYPEAPPLY, reference.expr.getTag());
+        assertEquals("List<String>", reference.expr.toString());
+
+        var selected = assertInstanceOf(JCTree.JCMethodInvocation.class, toTree("List<String>.<Integer>foo()"));
+        assertEquals("List<String>", ((JCTree.JCFieldAccess) selected.meth).selected.toString());
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "'Map.<Map<Integer, List<Float>>>of()', 'Map<Integer, List<Float>>'",
+            "'Map.<Map<Integer, Map<String, List<Float>>>>of()', 'Map<Integer, Map<String, List<Float>>>'",
+            "'Map.<List<List<T>>, T>of()', 'List<List<T>>'",
+            "'Map<K, List<V>>::get', 'Map<K, List<V>>'"
+    })
+    public void testShiftClosesTypeArguments(String expression, String firstTypeArgument) {
+        var tree = toTree(expression);
+        var typeArgument = tree instanceof JCTree.JCMethodInvocation invocation
+                ? invocation.typeargs.head
+                : ((JCTree.JCMemberReference) tree).expr;
+        assertEquals(firstTypeArgument, typeArgument.toString());
+        assertEquals(expression, tree.toString());
+    }
+
+    @Test
+    public void testNewClass() {
+        var newClass = assertInstanceOf(JCTree.JCNewClass.class, toTree("new Object()"));
+        assertNull(newClass.encl);
+        assertEquals("Object", newClass.clazz.toString());
+        assertTrue(newClass.args.isEmpty());
+
+        var qualified = assertInstanceOf(JCTree.JCNewClass.class, toTree("new java.util.HashMap<>(4)"));
+        assertNull(qualified.encl);
+        assertEquals("java.util.HashMap", qualified.clazz.toString());
+        assertEquals(1, qualified.args.size());
+
+        var inner = assertInstanceOf(JCTree.JCNewClass.class, toTree("abobus.new Bibus(a, b)"));
+        assertEquals("abobus", inner.encl.toString());
+        assertEquals("Bibus", inner.clazz.toString());
+        assertEquals(2, inner.args.size());
+
+        var invocationOwner = assertInstanceOf(JCTree.JCNewClass.class,
+                toTree("methodInvocation().new SomeClass()"));
+        assertEquals("Parsed.methodInvocation()", invocationOwner.encl.toString());
+    }
+
+    @Test
+    public void testNewArray() {
+        var dimensions = assertInstanceOf(JCTree.JCNewArray.class, toTree("new String[5][6]"));
+        assertEquals("String", dimensions.elemtype.toString());
+        assertEquals(List.of("5", "6"), dimensions.dims.stream().map(Object::toString).toList());
+        assertNull(dimensions.elems);
+
+        var initialized = assertInstanceOf(JCTree.JCNewArray.class, toTree("new int [] { 1, 2, 3 }"));
+        assertEquals("int", initialized.elemtype.toString());
+        assertTrue(initialized.dims.isEmpty());
+        assertEquals(3, initialized.elems.size());
+
+        var nested = assertInstanceOf(JCTree.JCNewArray.class,
+                toTree("new   float [ ][ ]  { { 1.1f , 2.2f } , { 3.3f , 4.4f } }"));
+        assertEquals("float[]", nested.elemtype.toString());
+        assertEquals("new float[]{1.1F, 2.2F}", nested.elems.head.toString());
+
+        var empty = assertInstanceOf(JCTree.JCNewArray.class, toTree("new String[]{}"));
+        assertTrue(empty.elems.isEmpty());
+    }
+
+    @Test
+    public void testLambda() {
+        var single = assertInstanceOf(JCTree.JCLambda.class, toTree("a -> a.execute()"));
+        assertEquals(1, single.params.size());
+        assertEquals("a.execute()", single.body.toString());
+
+        var multiple = assertInstanceOf(JCTree.JCLambda.class, toTree("(a, b) -> a.execute(b)"));
+        assertEquals(List.of("a", "b"), multiple.params.stream().map(param -> param.name.toString()).toList());
+
+        var noParameters = assertInstanceOf(JCTree.JCLambda.class, toTree("() -> x ? 1 : 2"));
+        assertTrue(noParameters.params.isEmpty());
+        assertEquals(JCTree.Tag.CONDEXPR, noParameters.body.getTag());
+    }
+
+    @Test
+    public void testMemberReference() {
+        var invoke = assertInstanceOf(JCTree.JCMemberReference.class, toTree("String::valueOf"));
+        assertEquals(MemberReferenceTree.ReferenceMode.INVOKE, invoke.mode);
+        assertEquals("valueOf", invoke.name.toString());
+
+        var constructor = assertInstanceOf(JCTree.JCMemberReference.class, toTree("java.util.ArrayList::new"));
+        assertEquals(MemberReferenceTree.ReferenceMode.NEW, constructor.mode);
+        assertEquals("java.util.ArrayList", constructor.expr.toString());
+
+        var selected = assertInstanceOf(JCTree.JCMemberReference.class, toTree("a.b()::c"));
+        assertEquals(JCTree.Tag.APPLY, selected.expr.getTag());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "new Object() {}",
+            "new SomeClass(param1) { void m() {} }",
+            "a -> { return a; }",
+            "() -> {}",
+            "List.<?>of()",
+            "List.<? extends T>of()",
+            "Map.<String, ? super T>of()"
+    })
+    public void testUnsupportedExpressions(String expression) {
+        var exception = assertThrows(IllegalArgumentException.class, () -> parse(expression));
+        assertTrue(exception.getMessage().contains("not supported"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "(invalidExpression",
+            "invalidExpression)",
+            "a = b",
+            "a.<b>",
+            "(x ? y) : z",
+            "methodInvocation.<String>genericMethod(arg).method2().",
+            "new int[]",
+            "new int {1, 2, 3}",
+            "new int[] {{1}}",
+            "a, b) -> a.execute(b))",
+            "<Integer>genericMethodInvocation",
+            "test.method<>()",
+            "noNewKeyword SomeClass()",
+            "String text = \"some text\"",
+            "invalidIdentifier{}",
+            "array_access[]",
+            "(int)",
+            "**method()",
+            "(*)",
+            "5**",
+            "+",
+            "--",
+            ""
+    })
+    public void testInvalidExpressions(String expression) {
+        assertThrows(IllegalArgumentException.class, () -> parse(expression));
+    }
+
+    @Test
+    public void testJavacRejectsTrailingTokens() {
+        var exception = assertThrows(IllegalArgumentException.class, () -> parseWithJavac("a b"));
+        assertEquals("Unexpected 'b' at 2 in a b", exception.getMessage());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"a +", "(a", "new int[", "a ? b", "a -> { return a }"})
+    public void testJavacErrors(String expression) {
+        var exception = assertThrows(IllegalArgumentException.class, () -> parseWithJavac(expression));
+        assertTrue(exception.getMessage().startsWith("Invalid expression " + expression + ": "), exception.getMessage());
+    }
+
+    /**
+     * javac rejects generic methods invoked by simple name, they are parsed by the builtin parser
+     */
+    @Test
+    public void testJavacFallsBackToBuiltinParser() {
+        assertInstanceOf(MethodInvocationExpression.class, createWithJavac("<Integer>genericMethodInvocation()"));
+        assertInstanceOf(JavacExpression.class, createWithJavac("Parsed.<Integer>genericMethodInvocation()"));
+        var exception = assertThrows(IllegalArgumentException.class, () -> createWithJavac("a +"));
+        assertEquals(1, exception.getSuppressed().length);
+    }
+
+    @Test
+    public void testJavacResetsPositions() {
+        var positions = javacCompilation.processingContext().call(() -> {
+            ExpressionMaker.at(42);
+            var tree = parseWithJavac("a.b(c + 1, d -> d)").toJcExpression();
+            assertEquals(42, ExpressionMaker.position());
+            var treePositions = new HashSet<Integer>();
+            tree.accept(new TreeScanner() {
+                @Override
+                public void scan(JCTree tree) {
+                    if (tree != null) {
+                        treePositions.add(tree.pos);
+                    }
+                    super.scan(tree);
+                }
+            });
+            return treePositions;
+        });
+        assertEquals(Set.of(42), positions);
+    }
+
+    /**
+     * Parsed has the field value and the static field name, other names are not members
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "value, this.value",
+            "name, Parsed.name",
+            "'value + name.length()', 'this.value + Parsed.name.length()'",
+            "'value(value)', 'value(this.value)'",
+            "'(name)value', '(name)this.value'",
+            "'new name(value)', 'new name(this.value)'",
+            "'name::length', 'Parsed.name::length'",
+            "'value -> value + name', '(value)->value + Parsed.name'",
+            "'(int value) -> value', '(int value)->value'",
+            "'() -> { int value = 1; return value; }', '()->{ int value = 1; return value; }'",
+            "'() -> { { int value = 1; } return value; }', '()->{ { int value = 1; } return this.value; }'",
+            "'() -> { for (String value : values) {} return value; }', '()->{ for (String value : values) { } return value; }'"
+    })
+    public void testJavacQualifiesIdentifiers(String expression, String qualified) {
+        var qualifiedExpression = javacCompilation.processingContext().call(() -> {
+            var parsed = parseWithJavac(expression);
+            parsed.convertIdentsToQualified(ClassContext.of(javacCompilation.methodPath().getParentPath()));
+            return parsed.toString();
+        });
+        assertEquals(qualified, qualifiedExpression.replaceAll("\\s+", " "));
+    }
+
+    private static Expression parse(String expression) {
+        return compilation.processingContext().call(() -> ExpressionParser.parse(
+                new CreateExpressionParams(expression, null, compilation.methodPath())));
+    }
+
+    private static Expression parseWithJavac(String expression) {
+        return javacCompilation.processingContext().call(() -> JavacExpressionParser.parse(
+                new CreateExpressionParams(expression, null, javacCompilation.methodPath())));
+    }
+
+    private static Expression createWithJavac(String expression) {
+        return javacCompilation.processingContext().call(() -> ExpressionFactory.createExpression(
+                new CreateExpressionParams(expression, null, javacCompilation.methodPath())));
+    }
+
+    private static JCTree.JCExpression toTree(String expression) {
+        return compilation.processingContext().call(() -> parse(expression).toJcExpression());
+    }
+
+    /**
+     * Utils of an analyzed compilation, expressions are made in the method with the given name
+     */
+    private record Compilation(ProcessingContext processingContext, TreePath methodPath) {
+        private static Compilation analyze(String source, String methodName, Map<String, String> options) {
+            var file = new SimpleJavaFileObject(URI.create("string:///Parsed.java"), JavaFileObject.Kind.SOURCE) {
+                @Override
+                public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                    return source;
+                }
+            };
+            // made expressions are attributed, names that are not declared are reported and ignored
+            var task = (JavacTask) ToolProvider.getSystemJavaCompiler()
+                    .getTask(null, null, diagnostic -> {
+                    }, List.of("-proc:none"), null, List.of(file));
+            try {
+                var unit = task.parse().iterator().next();
+                task.analyze();
+                var context = ((BasicJavacTask) task).getContext();
+                var processingEnv = JavacProcessingEnvironment.instance(context);
+                var trees = Trees.instance(task);
+                var processingContext = ProcessingContext.instance(context);
+                ProcessingUtils.initUtils(processingContext, processingEnv, processingEnv, trees,
+                        TreeMaker.instance(context), ProcessorOptions.from(options));
+                ElementUtils.init(processingContext, processingEnv.getElementUtils(),
+                        processingEnv.getElementUtils().getPackageElement(""), trees);
+                var methodPath = new TreePathScanner<TreePath, Void>() {
+                    @Override
+                    public TreePath visitMethod(MethodTree method, Void unused) {
+                        return method.getName().contentEquals(methodName) ? getCurrentPath() : null;
+                    }
+
+                    @Override
+                    public TreePath reduce(TreePath first, TreePath second) {
+                        return first != null ? first : second;
+                    }
+                }.scan(unit, null);
+                return new Compilation(processingContext, methodPath);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.projectparams.annotationprocessing.astcommons.parsing.parser;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.projectparams.annotationprocessing.astcommons.parsing.parser.ExpressionTokenizer.Token;
+import org.projectparams.annotationprocessing.astcommons.parsing.parser.ExpressionTokenizer.TokenKind;
+import org.projectparams.annotationprocessing.astcommons.parsing.utils.ExpressionSlice;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExpressionTokenizerTest {
+
+    @Test
+    public void testTokenKinds() {
+        var tokens = ExpressionTokenizer.tokenize("a.b(\"x, y\", 1.5e3f) >>> 'c'");
+        assertEquals(List.of("a", ".", "b", "(", "\"x, y\"", ",", "1.5e3f", ")", ">>>", "'c'", ""),
+                tokens.stream().map(token -> token.text().toString()).toList());
+        assertEquals(List.of(TokenKind.IDENTIFIER, TokenKind.SYMBOL, TokenKind.IDENTIFIER, TokenKind.SYMBOL,
+                        TokenKind.LITERAL, TokenKind.SYMBOL, TokenKind.LITERAL, TokenKind.SYMBOL,
+                        TokenKind.SYMBOL, TokenKind.LITERAL, TokenKind.END),
+                tokens.stream().map(Token::kind).toList());
+    }
+
+    @Test
+    public void testPositions() {
+        var tokens = ExpressionTokenizer.tokenize("  foo ->  bar");
+        assertEquals(List.of(
+                new Token(TokenKind.IDENTIFIER, ExpressionSlice.of("foo"), 2, 5),
+                new Token(TokenKind.SYMBOL, "->", 6, 8),
+                new Token(TokenKind.IDENTIFIER, ExpressionSlice.of("bar"), 10, 13),
+                new Token(TokenKind.END, "", 13, 13)
+        ), tokens);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0x1F", "0b101", "10_000L", ".5d", "3s", "1E-3"})
+    public void testNumbers(String number) {
+        var tokens = ExpressionTokenizer.tokenize(number);
+        assertEquals(2, tokens.size());
+        assertEquals(new Token(TokenKind.LITERAL, ExpressionSlice.of(number), 0, number.length()), tokens.get(0));
+    }
+
+    @Test
+    public void testEscapedQuote() {
+        var tokens = ExpressionTokenizer.tokenize("\"a\\\"b\"");
+        assertEquals(new Token(TokenKind.LITERAL, ExpressionSlice.of("\"a\\\"b\""), 0, 6), tokens.get(0));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"\"abc", "'a", "a # b", "a\\b"})
+    public void testInvalidExpressions(String expression) {
+        assertThrows(IllegalArgumentException.class, () -> ExpressionTokenizer.tokenize(expression));
+    }
+}
@@ -0,0 +1,48 @@
+package org.projectparams.annotationprocessing.astcommons.parsing.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExpressionSliceTest {
+
+    @Test
+    public void testSubSequence() {
+        var slice = ExpressionSlice.of("foo(bar, baz)", 4, 12);
+        assertEquals("bar, baz", slice.toString());
+        assertEquals(8, slice.length());
+        assertEquals('b', slice.charAt(0));
+        assertEquals("baz", slice.subSequence(5, 8).toString());
+        assertThrows(IndexOutOfBoundsException.class, () -> slice.charAt(8));
+        assertThrows(IndexOutOfBoundsException.class, () -> slice.subSequence(5, 9));
+    }
+
+    @Test
+    public void testOfSlice() {
+        var slice = ExpressionSlice.of("a + b", 1, 4);
+        assertSame(slice, ExpressionSlice.of(slice));
+        assertEquals("a + b", ExpressionSlice.of(new StringBuilder("a + b")).toString());
+    }
+
+    @Test
+    public void testEquality() {
+        var slice = ExpressionSlice.of("a.foo(b)", 2, 5);
+        var same = ExpressionSlice.of("foo");
+        assertEquals(same, slice);
+        assertEquals(same.hashCode(), slice.hashCode());
+        assertEquals("foo".hashCode(), slice.hashCode());
+        assertFalse(slice.equals(ExpressionSlice.of("a.foo(b)", 2, 4)));
+        assertFalse(slice.equals(ExpressionSlice.of("a.bar(b)", 2, 5)));
+        assertFalse(slice.equals("foo"));
+    }
+
+    @Test
+    public void testContent() {
+        var slice = ExpressionSlice.of("x instanceof y", 2, 12);
+        assertTrue(slice.contentEquals("instanceof"));
+        assertFalse(slice.contentEquals("instance"));
+        assertTrue(slice.startsWith("of", 8));
+        assertFalse(slice.startsWith("of y", 8));
+        assertFalse(slice.startsWith("in", -1));
+    }
+}
@@ -0,0 +1,51 @@
+package org.projectparams.annotationprocessing.astcommons.parsing.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TopLevelScanTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "'a.b(c.d).e', '.', 2",
+            "'List<a.b>.c', '.', 1",
+            "'x ? a.b : c.d', '.', 1",
+            "'\"a.b\".c', '.', 1",
+            "'new A(b.c).d', '.', 1",
+            "'Map<String, List<String>>', ',', 0"
+    })
+    public void testCount(String expression, char symbol, int expectedResult) {
+        assertEquals(expectedResult, TopLevelScan.of(expression).count(ParsingUtils.equalsSymbolPredicate(symbol)));
+    }
+
+    @Test
+    public void testEnclosersAreTopLevel() {
+        var scan = TopLevelScan.of("a(b)c");
+        assertTrue(scan.isTopLevel(0));
+        assertTrue(scan.isTopLevel(1));
+        assertFalse(scan.isTopLevel(2));
+        assertTrue(scan.isTopLevel(3));
+        assertTrue(scan.isTopLevel(4));
+    }
+
+    @Test
+    public void testIndexOfAndLastIndexOf() {
+        var scan = TopLevelScan.of("a.b(c.d).e.f");
+        var dot = ParsingUtils.equalsSymbolPredicate('.');
+        assertEquals(1, scan.indexOf(dot, 0));
+        assertEquals(8, scan.indexOf(dot, 2));
+        assertEquals(10, scan.lastIndexOf(dot, 11));
+        assertEquals(1, scan.lastIndexOf(dot, 7));
+        assertEquals(-1, scan.indexOf(dot, 11));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"a(b", "a)b", "[a", "{a}}", "\"a", "a ? b"})
+    public void testUnbalancedEnclosers(String expression) {
+        assertThrows(IllegalArgumentException.class, () -> TopLevelScan.of(expression));
+    }
+}
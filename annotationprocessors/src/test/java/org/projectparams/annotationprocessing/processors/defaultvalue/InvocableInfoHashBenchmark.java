@@ -0,0 +1,90 @@
+package org.projectparams.annotationprocessing.processors.defaultvalue;
+
+import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.code.Type;
+import com.sun.tools.javac.util.Context;
+import com.sun.tools.javac.util.List;
+import com.sun.tools.javac.util.Names;
+
+import javax.lang.model.element.TypeElement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+/**
+ * Compares hashing a pool of invocables with {@link InvocableInfo#hashCode()}
+ * and with the hash of its string representation, which was used before.
+ * <p>
+ * Not a test, run with {@code ./gradlew :annotationprocessors:benchmark}
+ */
+public class InvocableInfoHashBenchmark {
+    private static final int POOL_SIZE = 4000;
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 50;
+
+    public static void main(String[] args) {
+        var pool = createPool();
+        System.out.printf("hashCode():            %8.1f ns/invocable%n",
+                measure(pool, InvocableInfo::hashCode));
+        System.out.printf("toString().hashCode(): %8.1f ns/invocable%n",
+                measure(pool, invocable -> invocable.toString().hashCode()));
+        System.out.printf("HashSet add+contains:  %8.1f ns/invocable%n", measureHashSet(pool));
+    }
+
+    private static java.util.List<InvocableInfo> createPool() {
+        var names = Names.instance(new Context());
+        var pool = new ArrayList<InvocableInfo>();
+        for (var i = 0; i < POOL_SIZE; i++) {
+            var owner = new Symbol.ClassSymbol(0, names.fromString("Owner" + i / 10), null);
+            var method = new Symbol.MethodSymbol(0, names.fromString("method" + i),
+                    new Type.MethodType(List.nil(), Type.noType, List.nil(), null), owner);
+            var parameters = java.util.List.of(
+                    new InvocableInfo.Parameter("first", Type.noType, null),
+                    new InvocableInfo.Parameter("second", Type.noType,
+                            new InvocableInfo.Expression(Type.noType, String.valueOf(i))));
+            pool.add(new InvocableInfo(method, method.name.toString(), Set.<TypeElement>of(owner),
+                    Type.noType, parameters));
+        }
+        return pool;
+    }
+
+    private static double measure(java.util.List<InvocableInfo> pool, ToIntFunction<InvocableInfo> hash) {
+        var blackhole = 0;
+        for (var i = 0; i < WARMUP_ROUNDS; i++) {
+            blackhole += hashAll(pool, hash);
+        }
+        var start = System.nanoTime();
+        for (var i = 0; i < MEASURED_ROUNDS; i++) {
+            blackhole += hashAll(pool, hash);
+        }
+        var elapsed = System.nanoTime() - start;
+        if (blackhole == 42) {
+            System.out.println();
+        }
+        return (double) elapsed / MEASURED_ROUNDS / pool.size();
+    }
+
+    private static int hashAll(java.util.List<InvocableInfo> pool, ToIntFunction<InvocableInfo> hash) {
+        var result = 0;
+        for (var invocable : pool) {
+            result += hash.applyAsInt(invocable);
+        }
+        return result;
+    }
+
+    private static double measureHashSet(java.util.List<InvocableInfo> pool) {
+        return measure(pool, new ToIntFunction<>() {
+            private Set<InvocableInfo> set = new HashSet<>();
+
+            @Override
+            public int applyAsInt(InvocableInfo invocable) {
+                if (set.size() == pool.size()) {
+                    set = new HashSet<>();
+                }
+                set.add(invocable);
+                return set.contains(invocable) ? 1 : 0;
+            }
+        });
+    }
+}
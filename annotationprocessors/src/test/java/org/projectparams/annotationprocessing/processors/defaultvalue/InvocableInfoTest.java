@@ -0,0 +1,82 @@
+package org.projectparams.annotationprocessing.processors.defaultvalue;
+
+import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.code.Type;
+import com.sun.tools.javac.util.Context;
+import com.sun.tools.javac.util.List;
+import com.sun.tools.javac.util.Names;
+import org.junit.jupiter.api.Test;
+
+import javax.lang.model.element.TypeElement;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InvocableInfoTest {
+    private final Names names = Names.instance(new Context());
+    private final Symbol.ClassSymbol owner = makeClass("Owner");
+    private final Symbol.MethodSymbol method = makeMethod("method", owner);
+
+    @Test
+    public void testEqualInvocablesHaveEqualHashes() {
+        var invocable = makeInvocable(method, Set.of(owner));
+        var same = makeInvocable(method, Set.of(owner));
+        assertEquals(invocable, same);
+        assertEquals(invocable.hashCode(), same.hashCode());
+        assertEquals(invocable.hashCode(), invocable.hashCode());
+    }
+
+    @Test
+    public void testCopiesWithOtherNameAreNotEqual() {
+        var invocable = makeInvocable(method, Set.of(owner));
+        var thisInvocable = invocable.withName("this");
+        assertFalse(invocable.equals(thisInvocable));
+        assertEquals(thisInvocable, invocable.withName("this"));
+        assertEquals(thisInvocable.hashCode(), invocable.withName("this").hashCode());
+    }
+
+    @Test
+    public void testInvocablesWithOtherOwnersAreNotEqual() {
+        var invocable = makeInvocable(method, Set.of(owner));
+        var superInvocable = invocable.withPossibleOwners(Set.of(makeClass("Child")));
+        assertFalse(invocable.equals(superInvocable));
+        assertEquals(invocable.hashCode(), superInvocable.hashCode());
+    }
+
+    @Test
+    public void testInvocablesOfOtherMethodsAreNotEqual() {
+        var invocable = makeInvocable(method, Set.of(owner));
+        var overload = makeInvocable(makeMethod("method", owner), Set.of(owner));
+        assertFalse(invocable.equals(overload));
+        assertFalse(overload.equals(invocable));
+    }
+
+    @Test
+    public void testHashSetFindsEqualInvocables() {
+        var invocables = new HashSet<InvocableInfo>();
+        for (var i = 0; i < 100; i++) {
+            invocables.add(makeInvocable(makeMethod("method" + i, owner), Set.of(owner)));
+        }
+        invocables.add(makeInvocable(method, Set.of(owner)));
+        assertTrue(invocables.contains(makeInvocable(method, Set.of(owner))));
+        assertFalse(invocables.contains(makeInvocable(method, Set.of(owner)).withName("this")));
+        assertEquals(101, invocables.size());
+    }
+
+    private Symbol.ClassSymbol makeClass(String name) {
+        return new Symbol.ClassSymbol(0, names.fromString(name), null);
+    }
+
+    private Symbol.MethodSymbol makeMethod(String name, Symbol.ClassSymbol owner) {
+        return new Symbol.MethodSymbol(0, names.fromString(name),
+                new Type.MethodType(List.nil(), Type.noType, List.nil(), null), owner);
+    }
+
+    private static InvocableInfo makeInvocable(Symbol.MethodSymbol method, Set<TypeElement> possibleOwners) {
+        var parameters = java.util.List.of(
+                new InvocableInfo.Parameter("first", Type.noType, null),
+                new InvocableInfo.Parameter("second", Type.noType, new InvocableInfo.Expression(Type.noType, "3")));
+        return new InvocableInfo(method, method.name.toString(), possibleOwners, Type.noType, parameters);
+    }
+}
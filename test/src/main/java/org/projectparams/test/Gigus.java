@@ -0,0 +1,45 @@
+package org.projectparams.test;
+
+import org.projectparams.annotations.DefaultValue;
+
+import java.util.List;
+
+@SuppressWarnings("all")
+public class Gigus<T> {
+    protected T value;
+
+    public Gigus(@DefaultValue("4") int abobus) {
+    }
+
+    public T gigus(@DefaultValue("3") int abobus) {
+        return value;
+    }
+
+    public static class StringGigus extends Gigus<String> {
+        public StringGigus() {
+            super();
+            value = "stringGigus";
+        }
+
+        public String stringGigus() {
+            return gigus();
+        }
+    }
+
+    public static class ListGigus<U> extends Gigus<List<U>> {
+        public ListGigus(U value) {
+            super();
+            this.value = List.of(value);
+        }
+
+        public List<U> listGigus() {
+            return gigus();
+        }
+    }
+
+    public static class SubListGigus extends ListGigus<Integer> {
+        public SubListGigus() {
+            super(1);
+        }
+    }
+}
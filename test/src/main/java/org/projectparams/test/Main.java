@@ -42,6 +42,11 @@ public class Main {
         Function<Integer, Integer> someVar = Main::getOne;
         lambda();
         bibo();
+        Gigus.StringGigus stringGigus = new Gigus.StringGigus();
+        Gigus.ListGigus<String> listGigus = new Gigus.ListGigus<>("gigus");
+        Gigus.SubListGigus subListGigus = new Gigus.SubListGigus();
+        System.out.println(stringGigus.gigus() + " " + listGigus.gigus() + " " + subListGigus.gigus().getFirst());
+        System.out.println(new Gigus.StringGigus().gigus().length() + " " + new Gigus.SubListGigus().gigus().getFirst());
     }
 
     public Main() {